@@ -0,0 +1,75 @@
+package com.its.utils;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decode and encode cost of the binary id-list form against the JSON form it replaces.
+ * Run with the jmh profile (see commonlibrary/pom.xml).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LongListBinaryConverterBenchmark {
+
+    @Param({"100", "10000"})
+    private int ids;
+
+    private final LongListBinaryConverter binary = new LongListBinaryConverter(true);
+    private final LongListJsonConverter json = new LongListJsonConverter();
+
+    private List<Long> list;
+    private String binaryValue;
+    private String jsonValue;
+
+    @Setup
+    public void setUp() {
+        // Ascending ids with small gaps, as on a project that gains tickets over time
+        Random random = new Random(42);
+        list = new ArrayList<>(ids);
+        long id = 1_000_000;
+        for (int i = 0; i < ids; i++) {
+            id += 1 + random.nextInt(40);
+            list.add(id);
+        }
+        binaryValue = binary.convertToDatabaseColumn(list);
+        jsonValue = json.convertToDatabaseColumn(list);
+    }
+
+    @Benchmark
+    public List<Long> decodeBinary() {
+        return binary.convertToEntityAttribute(binaryValue);
+    }
+
+    @Benchmark
+    public List<Long> decodeJson() {
+        return json.convertToEntityAttribute(jsonValue);
+    }
+
+    @Benchmark
+    public String encodeBinary() {
+        return binary.convertToDatabaseColumn(list);
+    }
+
+    @Benchmark
+    public String encodeJson() {
+        return json.convertToDatabaseColumn(list);
+    }
+}
@@ -0,0 +1,23 @@
+package com.its.common.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AttachmentDTO {
+    private Long id;
+    private Long ticketId;
+    private String fileName;
+    private String contentType;
+    private Long fileSize;
+    private String contentHash;
+    private Long uploadedBy;
+    private Instant uploadedAt;
+}
@@ -0,0 +1,26 @@
+package com.its.common.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AttachmentUploadSessionDTO {
+    private String uploadId;
+    private Long ticketId;
+    private String fileName;
+    private Long totalSize;
+    private Integer chunkSize;
+    private Integer chunkCount;
+    private List<Integer> receivedChunks;
+    private String status;
+    private Instant createdAt;
+    private Instant expiresAt;
+}
@@ -67,6 +67,9 @@ public class ProjectDTO {
 
     private List<UserAssignmentDTO> projectMembers;
 
+    // True when some members could not be resolved in time and projectMembers is incomplete
+    private Boolean projectMembersPartial;
+
     private List<ProjectTechDTO> technologyStack;
 
     private String clientUsername;
@@ -0,0 +1,28 @@
+package com.its.common.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * Ticket counts for one project, broken down by status and priority
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TicketCountsDTO {
+
+    private Long projectId;
+
+    private long total;
+
+    private Map<String, Long> byStatus;
+
+    private Map<String, Long> byPriority;
+
+    private Map<String, Map<String, Long>> byStatusAndPriority;
+}
@@ -45,10 +45,16 @@ public class TicketDTO {
 
     private LocalDateTime dueDate;
 
+    private LocalDateTime slaDueAt;
+
+    private Boolean slaBreached;
+
     private Boolean archived = false;
 
     private List<TicketCommentDTO> comments;
 
+    private Long commentCount;
+
     private UserGroupDTO userGroupDTO;
 
     private Long ticketNumber;
@@ -0,0 +1,38 @@
+package com.its.common.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDateTime;
+
+/**
+ * Optional ticket list filters; any subset may be supplied.
+ * Status and priority are kept as strings so invalid values can be reported as validation errors.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TicketFilterDTO {
+
+    private Long projectId;
+
+    private String status;
+
+    private String priority;
+
+    private Long assignedToId;
+
+    private Long groupId;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime dueFrom;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime dueTo;
+
+    private Boolean archived;
+}
@@ -0,0 +1,17 @@
+package com.its.common.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TicketImportErrorDTO {
+
+    private long row;
+
+    private String message;
+}
@@ -0,0 +1,35 @@
+package com.its.common.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Progress and outcome of a bulk ticket import
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TicketImportStatusDTO {
+
+    private String importId;
+
+    private String state;
+
+    private long rowsRead;
+
+    private long rowsImported;
+
+    private long rowsFailed;
+
+    private List<TicketImportErrorDTO> errors;
+
+    private LocalDateTime startedAt;
+
+    private LocalDateTime finishedAt;
+}
@@ -0,0 +1,44 @@
+package com.its.common.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * One entry of a ticket's timeline: a comment, work note, field change or group change.
+ * Only the fields relevant to the entry type are set.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TicketTimelineEntryDTO {
+
+    // COMMENT, WORK_NOTE, SYSTEM, FIELD_CHANGE or GROUP_CHANGE
+    private String type;
+
+    private Long id;
+
+    private Long ticketId;
+
+    private Long actorId;
+
+    private Instant createdAt;
+
+    private String text;
+
+    private Boolean internal;
+
+    private String fieldName;
+
+    private String oldValue;
+
+    private String newValue;
+
+    private Long fromGroupId;
+
+    private Long toGroupId;
+}
@@ -4,6 +4,8 @@ import com.its.commonservice.enums.TicketPriority;
 import jakarta.validation.constraints.NotBlank;
 import lombok.*;
 
+import java.util.List;
+
 @Getter
 @Setter
 @NoArgsConstructor
@@ -23,4 +25,7 @@ public class UserGroupDTO {
     private UserDTO groupLead;
 
     private TicketPriority priority;
+
+    // Only filled by the project/priority routing lookup
+    private List<Long> memberIds;
 }
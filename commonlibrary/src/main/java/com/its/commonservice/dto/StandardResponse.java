@@ -15,6 +15,7 @@ import java.util.List;
  *   - StandardResponse.single(data)
  *   - StandardResponse.list(items)
  *   - StandardResponse.page(pageData)
+ *   - StandardResponse.cursor(cursorPage)
  *   - StandardResponse.error(message, code)
  */
 @Data
@@ -28,6 +29,7 @@ public class StandardResponse<T> {
     private T data;
     private List<T> items;
     private PageInfo pageInfo;
+    private String nextCursor;
     private String errorCode;
     private Instant timestamp;
     
@@ -98,6 +100,17 @@ public class StandardResponse<T> {
         return response;
     }
     
+    // Keyset-paginated response
+    public static <T> StandardResponse<T> cursor(CursorPage<T> page) {
+        StandardResponse<T> response = new StandardResponse<>();
+        response.setSuccess(true);
+        response.setMessage("Success");
+        response.setItems(page.getItems());
+        response.setNextCursor(page.getNextCursor());
+        response.setTimestamp(Instant.now());
+        return response;
+    }
+    
     // Error response
     public static <T> StandardResponse<T> error(String message, String errorCode) {
         StandardResponse<T> response = new StandardResponse<>();
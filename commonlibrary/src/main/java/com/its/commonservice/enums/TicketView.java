@@ -0,0 +1,9 @@
+package com.its.commonservice.enums;
+
+/**
+ * Projection used by ticket list endpoints
+ */
+public enum TicketView {
+    SUMMARY,    // ticket fields and comment count only
+    FULL        // ticket fields with all comments
+}
@@ -67,6 +67,7 @@ public enum ErrorCode {
     FILE_UPLOAD_FAILED("FILE_9003", "File upload failed", HttpStatus.INTERNAL_SERVER_ERROR),
     INVALID_FILE_TYPE("FILE_9004", "Invalid file type", HttpStatus.BAD_REQUEST),
     FILE_ACCESS_DENIED("FILE_9005", "Access to file denied", HttpStatus.FORBIDDEN),
+    FILE_RANGE_NOT_SATISFIABLE("FILE_9006", "Requested range not satisfiable", HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE),
 
     // Validation (10000-10999)
     INVALID_INPUT("VAL_10001", "Invalid input data", HttpStatus.BAD_REQUEST),
@@ -100,7 +101,6 @@ public enum ErrorCode {
     GROUP_ALREADY_EXISTS_FOR_PRIORITY("GROUP_6008", "Group already exists for priority", HttpStatus.CONFLICT),
     DUPLICATE_GROUP_NAME("GROUP_6009", "Group name already exists", HttpStatus.CONFLICT),
     DUPLICATE_CATEGORY("CAT_10010", "Category already exists", HttpStatus.CONFLICT),
-    PROJECT_CODE_GENERATION_FAILED("PROJ_10011", "Project code generation failed", HttpStatus.INTERNAL_SERVER_ERROR),
     ;
 
     private final String code;
@@ -0,0 +1,44 @@
+package com.its.commonservice.security;
+
+import com.its.commonservice.dto.CurrentUser;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.security.core.AuthenticatedPrincipal;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Authenticated principal built from verified JWT claims (sub, userId, roles, orgId).
+ * Lets services identify the caller without a round trip to userservice.
+ */
+@Getter
+@AllArgsConstructor
+public class JwtPrincipal implements AuthenticatedPrincipal, Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Long userId;
+    private final String username;
+    private final List<String> roles;
+    private final Long orgId;
+
+    @Override
+    public String getName() {
+        return username;
+    }
+
+    public CurrentUser toCurrentUser() {
+        return CurrentUser.builder()
+                .id(userId)
+                .username(username)
+                .roles(roles)
+                .orgId(orgId)
+                .build();
+    }
+
+    @Override
+    public String toString() {
+        return username;
+    }
+}
@@ -3,6 +3,7 @@ package com.its.commonservice.util;
 import com.its.commonservice.dto.CurrentUser;
 import com.its.commonservice.exception.ErrorCode;
 import com.its.commonservice.exception.HltCustomerException;
+import com.its.commonservice.security.JwtPrincipal;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
@@ -65,6 +66,14 @@ public class CurrentUserUtil {
         }
     }
 
+    /**
+     * Resolve CurrentUser from the principal already authenticated for this request,
+     * without re-parsing the token. Returns Optional.empty() if there is none.
+     */
+    public Optional<CurrentUser> current() {
+        return SecurityUtils.getCurrentPrincipal().map(JwtPrincipal::toCurrentUser);
+    }
+
     /**
      * Same as resolveFrom(HttpServletRequest) but throws if missing/invalid.
      */
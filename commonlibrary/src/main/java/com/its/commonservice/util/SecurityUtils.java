@@ -1,11 +1,14 @@
 package com.its.commonservice.util;
 
 
+import com.its.commonservice.security.JwtPrincipal;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 
+import java.util.Optional;
+
 
 public class SecurityUtils {
 
@@ -47,6 +50,24 @@ public class SecurityUtils {
         }
         return auth.getName();
     }
+
+    /**
+     * The JWT-backed principal of the current request, if the caller authenticated with a bearer token.
+     */
+    public static Optional<JwtPrincipal> getCurrentPrincipal() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth != null && auth.getPrincipal() instanceof JwtPrincipal principal) {
+            return Optional.of(principal);
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * The caller's user id from the token's userId claim, or null when not available.
+     */
+    public static Long getCurrentUserId() {
+        return getCurrentPrincipal().map(JwtPrincipal::getUserId).orElse(null);
+    }
 }
 
 
@@ -0,0 +1,141 @@
+package com.its.utils;
+
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.RandomAccess;
+
+/**
+ * Growable list of longs backed by a primitive array, so large id lists are held without
+ * boxing each element. Nulls are not permitted. The boxed List API is available for
+ * existing callers; getLong/addLong avoid boxing where it matters.
+ */
+public class LongArrayList extends AbstractList<Long> implements RandomAccess, Serializable {
+
+    private static final long[] EMPTY = new long[0];
+
+    private long[] elements;
+    private int size;
+
+    public LongArrayList() {
+        this.elements = EMPTY;
+    }
+
+    public LongArrayList(int initialCapacity) {
+        this.elements = initialCapacity > 0 ? new long[initialCapacity] : EMPTY;
+    }
+
+    public LongArrayList(Collection<? extends Long> values) {
+        this(values.size());
+        for (Long value : values) {
+            add(value);
+        }
+    }
+
+    public long getLong(int index) {
+        checkIndex(index);
+        return elements[index];
+    }
+
+    public void addLong(long value) {
+        ensureCapacity(size + 1);
+        elements[size++] = value;
+    }
+
+    public long[] toLongArray() {
+        return Arrays.copyOf(elements, size);
+    }
+
+    @Override
+    public Long get(int index) {
+        return getLong(index);
+    }
+
+    @Override
+    public Long set(int index, Long value) {
+        checkIndex(index);
+        long previous = elements[index];
+        elements[index] = requireValue(value);
+        return previous;
+    }
+
+    @Override
+    public boolean add(Long value) {
+        addLong(requireValue(value));
+        modCount++;
+        return true;
+    }
+
+    @Override
+    public void add(int index, Long value) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        long primitive = requireValue(value);
+        ensureCapacity(size + 1);
+        System.arraycopy(elements, index, elements, index + 1, size - index);
+        elements[index] = primitive;
+        size++;
+        modCount++;
+    }
+
+    @Override
+    public Long remove(int index) {
+        checkIndex(index);
+        long previous = elements[index];
+        System.arraycopy(elements, index + 1, elements, index, size - index - 1);
+        size--;
+        modCount++;
+        return previous;
+    }
+
+    @Override
+    public int indexOf(Object o) {
+        if (o instanceof Long value) {
+            long target = value;
+            for (int i = 0; i < size; i++) {
+                if (elements[i] == target) {
+                    return i;
+                }
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return indexOf(o) >= 0;
+    }
+
+    @Override
+    public void clear() {
+        size = 0;
+        modCount++;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    private void ensureCapacity(int required) {
+        if (required > elements.length) {
+            int grown = Math.max(required, elements.length + (elements.length >> 1) + 1);
+            elements = Arrays.copyOf(elements, grown);
+        }
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+
+    private static long requireValue(Long value) {
+        if (value == null) {
+            throw new NullPointerException("LongArrayList does not permit null elements");
+        }
+        return value;
+    }
+}
@@ -0,0 +1,191 @@
+package com.its.utils;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+import org.springframework.beans.factory.annotation.Value;
+
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Stores a list of ids as "b1:" followed by Base64 of a compact binary form: the element
+ * count, then each element as a zigzag varint delta from the one before it. Ids that are
+ * close together, which is the common case, take one or two bytes each, and element order
+ * is kept. Columns stay TEXT so no schema change is needed.
+ *
+ * Values written by {@link LongListJsonConverter} ("[1,2,3]") are always read. Writing the
+ * binary form is off by default ({@code converters.long-list.write-binary}), so a release that
+ * can read it is rolled out everywhere before any instance writes it; until then lists are
+ * written as JSON. Null elements are dropped.
+ *
+ * Hibernate creates converters through the Spring bean container, which injects the flag.
+ */
+@Converter
+public class LongListBinaryConverter implements AttributeConverter<List<Long>, String> {
+
+    private static final String PREFIX = "b1:";
+
+    @Value("${converters.long-list.write-binary:false}")
+    private boolean writeBinary;
+
+    public LongListBinaryConverter() {
+    }
+
+    LongListBinaryConverter(boolean writeBinary) {
+        this.writeBinary = writeBinary;
+    }
+
+    @Override
+    public String convertToDatabaseColumn(List<Long> list) {
+        return writeBinary ? encodeBinary(list) : encodeJson(list);
+    }
+
+    private static String encodeBinary(List<Long> list) {
+        int count = list != null ? list.size() : 0;
+        byte[] buffer = new byte[10 * (count + 1)];
+        int position = writeVarint(buffer, 0, countNonNull(list));
+
+        long previous = 0;
+        if (list instanceof LongArrayList longs) {
+            for (int i = 0; i < count; i++) {
+                long value = longs.getLong(i);
+                position = writeVarint(buffer, position, zigzag(value - previous));
+                previous = value;
+            }
+        } else if (list != null) {
+            for (Long value : list) {
+                if (value != null) {
+                    position = writeVarint(buffer, position, zigzag(value - previous));
+                    previous = value;
+                }
+            }
+        }
+        return PREFIX + Base64.getEncoder().withoutPadding().encodeToString(Arrays.copyOf(buffer, position));
+    }
+
+    /**
+     * Writes the same text as {@link LongListJsonConverter}, without going through Jackson.
+     */
+    private static String encodeJson(List<Long> list) {
+        StringBuilder json = new StringBuilder(list != null ? 8 * list.size() + 2 : 2).append('[');
+        if (list != null) {
+            for (Long value : list) {
+                if (value != null) {
+                    if (json.length() > 1) {
+                        json.append(',');
+                    }
+                    json.append(value.longValue());
+                }
+            }
+        }
+        return json.append(']').toString();
+    }
+
+    @Override
+    public List<Long> convertToEntityAttribute(String value) {
+        if (value == null || value.isEmpty()) {
+            return new LongArrayList();
+        }
+        if (value.startsWith(PREFIX)) {
+            return decodeBinary(value.substring(PREFIX.length()));
+        }
+        return decodeJson(value);
+    }
+
+    private static LongArrayList decodeBinary(String encoded) {
+        byte[] bytes = Base64.getDecoder().decode(encoded);
+        int[] position = {0};
+        int count = (int) readVarint(bytes, position);
+        LongArrayList list = new LongArrayList(count);
+        long previous = 0;
+        for (int i = 0; i < count; i++) {
+            previous += unzigzag(readVarint(bytes, position));
+            list.addLong(previous);
+        }
+        return list;
+    }
+
+    /**
+     * Reads a JSON array of integers (nulls skipped) without going through Jackson.
+     */
+    private static LongArrayList decodeJson(String json) {
+        LongArrayList list = new LongArrayList();
+        int i = 0;
+        int length = json.length();
+        while (i < length && json.charAt(i) != '[') {
+            i++;
+        }
+        if (i == length) {
+            throw new IllegalArgumentException("Error converting JSON to list");
+        }
+        i++;
+        while (i < length) {
+            char c = json.charAt(i);
+            if (c == '-' || (c >= '0' && c <= '9')) {
+                int start = i++;
+                while (i < length && Character.isDigit(json.charAt(i))) {
+                    i++;
+                }
+                list.addLong(Long.parseLong(json, start, i, 10));
+            } else if (c == ']') {
+                return list;
+            } else if (c == 'n' && json.startsWith("null", i)) {
+                i += 4;
+            } else if (c == ',' || Character.isWhitespace(c)) {
+                i++;
+            } else {
+                throw new IllegalArgumentException("Error converting JSON to list");
+            }
+        }
+        throw new IllegalArgumentException("Error converting JSON to list");
+    }
+
+    private static int countNonNull(List<Long> list) {
+        if (list == null) {
+            return 0;
+        }
+        if (list instanceof LongArrayList) {
+            return list.size();
+        }
+        int count = 0;
+        for (Long value : list) {
+            if (value != null) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static int writeVarint(byte[] buffer, int position, long value) {
+        while ((value & ~0x7FL) != 0) {
+            buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[position++] = (byte) value;
+        return position;
+    }
+
+    private static long readVarint(byte[] bytes, int[] position) {
+        long result = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            if (position[0] >= bytes.length) {
+                throw new IllegalArgumentException("Truncated id list");
+            }
+            byte b = bytes[position[0]++];
+            result |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return result;
+            }
+        }
+        throw new IllegalArgumentException("Malformed id list");
+    }
+}
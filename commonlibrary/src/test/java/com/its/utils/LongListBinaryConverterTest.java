@@ -0,0 +1,66 @@
+package com.its.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LongListBinaryConverterTest {
+
+    private static final int IDS = 10_000;
+
+    private final LongListBinaryConverter binary = new LongListBinaryConverter(true);
+    private final LongListBinaryConverter compatible = new LongListBinaryConverter(false);
+    private final LongListJsonConverter json = new LongListJsonConverter();
+
+    @Test
+    void writesJsonUntilBinaryIsEnabled() {
+        List<Long> ids = Arrays.asList(3L, null, 1L, -7L);
+        String written = compatible.convertToDatabaseColumn(ids);
+
+        assertEquals("[3,1,-7]", written);
+        assertEquals(List.of(3L, 1L, -7L), json.convertToEntityAttribute(written));
+        assertEquals("[]", compatible.convertToDatabaseColumn(null));
+    }
+
+    @Test
+    void readsBothFormats() {
+        List<Long> ids = typicalIds();
+
+        assertEquals(ids, binary.convertToEntityAttribute(binary.convertToDatabaseColumn(ids)));
+        assertEquals(ids, binary.convertToEntityAttribute(json.convertToDatabaseColumn(ids)));
+        assertEquals(ids, compatible.convertToEntityAttribute(binary.convertToDatabaseColumn(ids)));
+        assertEquals(List.of(Long.MIN_VALUE, Long.MAX_VALUE, 0L),
+                binary.convertToEntityAttribute(binary.convertToDatabaseColumn(List.of(Long.MIN_VALUE, Long.MAX_VALUE, 0L))));
+    }
+
+    @Test
+    void binaryFormIsAFractionOfJson() {
+        List<Long> ids = typicalIds();
+
+        int binaryLength = binary.convertToDatabaseColumn(ids).length();
+        int jsonLength = json.convertToDatabaseColumn(ids).length();
+
+        assertTrue(binaryLength * 3 < jsonLength,
+                "binary " + binaryLength + " chars, JSON " + jsonLength + " chars");
+    }
+
+    /**
+     * Ascending ids with small gaps, as on a project that gains tickets over time.
+     */
+    private static List<Long> typicalIds() {
+        Random random = new Random(42);
+        List<Long> ids = new ArrayList<>(IDS);
+        long id = 1_000_000;
+        for (int i = 0; i < IDS; i++) {
+            id += 1 + random.nextInt(40);
+            ids.add(id);
+        }
+        return ids;
+    }
+}
@@ -7,6 +7,8 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestParam;
 
+import java.util.Collection;
+
 @FeignClient(
         name = "user-service-assignments",
         url = "${services.user.base-url:http://localhost:8082}",
@@ -22,4 +24,10 @@ public interface UserAssignmentClient {
             @RequestParam(name = "sortBy", defaultValue = "id") String sortBy,
             @RequestParam(name = "direction", defaultValue = "ASC") String direction
     );
+
+    /**
+     * Assignments of every listed user in one call.
+     */
+    @GetMapping("/users")
+    StandardResponse<UserAssignmentDTO> getAssignmentsByUsers(@RequestParam("userIds") Collection<Long> userIds);
 }
@@ -5,6 +5,9 @@ import com.its.commonservice.dto.StandardResponse;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import java.util.Collection;
 
 @FeignClient(
         name = "user-service",
@@ -15,4 +18,7 @@ public interface UserServiceClient {
 
     @GetMapping("/{id}")
     StandardResponse<UserGroupDTO> getUserGroupById(@PathVariable("id") Long id);
+
+    @GetMapping("/batch")
+    StandardResponse<UserGroupDTO> getUserGroupsByIds(@RequestParam("ids") Collection<Long> ids);
 }
@@ -1,5 +1,6 @@
 package com.example.issueservice.config;
 
+import com.its.commonservice.security.JwtPrincipal;
 import com.its.commonservice.util.JwtUtil;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -56,7 +57,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                             .collect(Collectors.toList());
 
                     UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                            username,
+                            new JwtPrincipal(userId, username, roles, orgId),
                             null,
                             authorities
                     );
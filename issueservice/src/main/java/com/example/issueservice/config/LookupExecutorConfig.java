@@ -0,0 +1,64 @@
+package com.example.issueservice.config;
+
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.Map;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Bounded executor for concurrent calls to other services.
+ * Worker threads inherit the caller's security context and MDC.
+ */
+@Configuration
+public class LookupExecutorConfig {
+
+    @Bean(name = "lookupExecutor")
+    public ThreadPoolTaskExecutor lookupExecutor(
+            @Value("${lookups.pool-size:16}") int poolSize,
+            @Value("${lookups.queue-capacity:200}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("lookup-");
+        executor.setTaskDecorator(contextPropagatingDecorator());
+        // When saturated, reject: running the call on the caller's thread would escape its deadline
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.initialize();
+        return executor;
+    }
+
+    private TaskDecorator contextPropagatingDecorator() {
+        return runnable -> {
+            SecurityContext securityContext = SecurityContextHolder.getContext();
+            Map<String, String> mdc = MDC.getCopyOfContextMap();
+            return () -> {
+                SecurityContext previousContext = SecurityContextHolder.getContext();
+                Map<String, String> previousMdc = MDC.getCopyOfContextMap();
+                SecurityContextHolder.setContext(securityContext);
+                if (mdc != null) {
+                    MDC.setContextMap(mdc);
+                } else {
+                    MDC.clear();
+                }
+                try {
+                    runnable.run();
+                } finally {
+                    SecurityContextHolder.setContext(previousContext);
+                    if (previousMdc != null) {
+                        MDC.setContextMap(previousMdc);
+                    } else {
+                        MDC.clear();
+                    }
+                }
+            };
+        };
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.issueservice.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.JdbcConnectionDetails;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * A small connection pool, separate from the main one, for sequence counters that must
+ * commit on their own (ticket number blocks, project codes).
+ *
+ * Callers usually already hold a main-pool connection for their own transaction. Taking a
+ * second connection from the same pool for a REQUIRES_NEW transaction can starve the pool
+ * under load, with every thread holding one connection and waiting for another. Statements
+ * here run in autocommit mode and never wait on the main pool, so that cycle cannot form.
+ *
+ * Not exposed as a DataSource bean, so the main DataSource and JdbcTemplate auto-configuration
+ * are unaffected.
+ */
+@Component
+public class SequencePool implements DisposableBean {
+
+    private final HikariDataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+
+    public SequencePool(JdbcConnectionDetails connectionDetails,
+                        @Value("${sequences.pool-size:2}") int poolSize) {
+        this.dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .driverClassName(connectionDetails.getDriverClassName())
+                .url(connectionDetails.getJdbcUrl())
+                .username(connectionDetails.getUsername())
+                .password(connectionDetails.getPassword())
+                .build();
+        this.dataSource.setPoolName("sequence-pool");
+        this.dataSource.setMaximumPoolSize(poolSize);
+        this.dataSource.setMinimumIdle(1);
+        this.dataSource.setAutoCommit(true);
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    /**
+     * Runs the callback on one pooled connection, so session state such as LAST_INSERT_ID()
+     * is shared between its statements.
+     */
+    public <T> T execute(ConnectionCallback<T> action) {
+        return jdbcTemplate.execute(action);
+    }
+
+    @Override
+    public void destroy() {
+        dataSource.close();
+    }
+}
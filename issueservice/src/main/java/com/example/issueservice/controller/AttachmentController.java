@@ -0,0 +1,144 @@
+package com.example.issueservice.controller;
+
+import com.example.issueservice.service.impl.AttachmentService;
+import com.example.issueservice.service.impl.AttachmentUploadService;
+import com.its.common.dto.AttachmentDTO;
+import com.its.common.dto.AttachmentUploadRequestDTO;
+import com.its.common.dto.AttachmentUploadSessionDTO;
+import com.its.commonservice.dto.StandardResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Controller for ticket attachment endpoints
+ */
+@RestController
+@RequestMapping("api/tickets/{ticketId}/attachments")
+@RequiredArgsConstructor
+public class AttachmentController {
+
+    private final AttachmentService attachmentService;
+    private final AttachmentUploadService attachmentUploadService;
+
+    /**
+     * The request body is the raw file content; the Content-Type header is stored as the file's type.
+     */
+    @PostMapping
+    public StandardResponse<AttachmentDTO> upload(
+            @PathVariable Long ticketId,
+            @RequestParam("fileName") String fileName,
+            HttpServletRequest request) throws IOException {
+        AttachmentDTO attachment = attachmentService.upload(ticketId, fileName, request.getContentType(),
+                request.getContentLengthLong(), request.getInputStream());
+        return StandardResponse.single(attachment, "Attachment uploaded successfully");
+    }
+
+    @GetMapping
+    public StandardResponse<AttachmentDTO> getAttachments(@PathVariable Long ticketId) {
+        List<AttachmentDTO> attachments = attachmentService.getAttachments(ticketId);
+        return StandardResponse.list(attachments);
+    }
+
+    /**
+     * Streams the file. A single-range Range header returns 206 with just that range.
+     */
+    @GetMapping("/{attachmentId}/content")
+    public ResponseEntity<StreamingResponseBody> download(
+            @PathVariable Long ticketId,
+            @PathVariable Long attachmentId,
+            @RequestHeader(value = HttpHeaders.RANGE, required = false) String range) {
+        AttachmentService.Download download = attachmentService.openDownload(ticketId, attachmentId, range);
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(download.partial() ? HttpStatus.PARTIAL_CONTENT : HttpStatus.OK)
+                .contentType(MediaType.parseMediaType(download.contentType()))
+                .contentLength(download.length())
+                .header(HttpHeaders.ACCEPT_RANGES, "bytes")
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename(download.fileName(), StandardCharsets.UTF_8).build().toString());
+        if (download.partial()) {
+            response.header(HttpHeaders.CONTENT_RANGE, "bytes " + download.start() + "-"
+                    + (download.start() + download.length() - 1) + "/" + download.totalSize());
+        }
+        return response.body(download::writeTo);
+    }
+
+    /**
+     * A 416 must say how large the file is, so clients can retry with a valid range.
+     */
+    @ExceptionHandler(AttachmentService.RangeNotSatisfiableException.class)
+    public ResponseEntity<StandardResponse<Void>> rangeNotSatisfiable(AttachmentService.RangeNotSatisfiableException ex) {
+        return ResponseEntity.status(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE)
+                .header(HttpHeaders.CONTENT_RANGE, "bytes */" + ex.getTotalSize())
+                .body(StandardResponse.error(ex.getEffectiveMessage(), ex.getErrorCode().getCode()));
+    }
+
+    @DeleteMapping("/{attachmentId}")
+    public StandardResponse<Void> delete(@PathVariable Long ticketId, @PathVariable Long attachmentId) {
+        attachmentService.deleteAttachment(ticketId, attachmentId);
+        return StandardResponse.message("Attachment deleted successfully");
+    }
+
+    /**
+     * Starts a resumable upload. Send each chunk with PUT .../chunks/{index}, then commit.
+     */
+    @PostMapping("/uploads")
+    public StandardResponse<AttachmentUploadSessionDTO> initiateUpload(
+            @PathVariable Long ticketId,
+            @Valid @RequestBody AttachmentUploadRequestDTO request) {
+        AttachmentUploadSessionDTO session = attachmentUploadService.initiate(ticketId, request);
+        return StandardResponse.single(session, "Upload started successfully");
+    }
+
+    /**
+     * Upload progress, including which chunks have been received, for resuming.
+     */
+    @GetMapping("/uploads/{uploadId}")
+    public StandardResponse<AttachmentUploadSessionDTO> getUpload(
+            @PathVariable Long ticketId,
+            @PathVariable String uploadId) {
+        AttachmentUploadSessionDTO session = attachmentUploadService.getSession(ticketId, uploadId);
+        return StandardResponse.single(session, "Upload fetched successfully");
+    }
+
+    /**
+     * The request body is the raw chunk content; X-Chunk-Sha256 carries its hex SHA-256.
+     */
+    @PutMapping("/uploads/{uploadId}/chunks/{index}")
+    public StandardResponse<Void> putChunk(
+            @PathVariable Long ticketId,
+            @PathVariable String uploadId,
+            @PathVariable int index,
+            @RequestHeader(value = "X-Chunk-Sha256", required = false) String sha256,
+            HttpServletRequest request) throws IOException {
+        attachmentUploadService.putChunk(ticketId, uploadId, index, sha256, request.getInputStream());
+        return StandardResponse.message("Chunk received successfully");
+    }
+
+    @PostMapping("/uploads/{uploadId}/commit")
+    public StandardResponse<AttachmentDTO> commitUpload(
+            @PathVariable Long ticketId,
+            @PathVariable String uploadId) {
+        AttachmentDTO attachment = attachmentUploadService.commit(ticketId, uploadId);
+        return StandardResponse.single(attachment, "Attachment uploaded successfully");
+    }
+
+    @DeleteMapping("/uploads/{uploadId}")
+    public StandardResponse<Void> abortUpload(
+            @PathVariable Long ticketId,
+            @PathVariable String uploadId) {
+        attachmentUploadService.abort(ticketId, uploadId);
+        return StandardResponse.message("Upload aborted successfully");
+    }
+}
@@ -3,11 +3,15 @@ package com.example.issueservice.controller;
 
 import com.its.common.dto.CategoryDTO;
 import com.example.issueservice.service.CategoryService;
+import com.example.issueservice.service.impl.CategoryTreeCache;
 import com.its.commonservice.dto.StandardResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 @RestController
@@ -16,6 +20,7 @@ import org.springframework.web.bind.annotation.*;
 public class CategoryController {
 
     private final CategoryService categoryService;
+    private final CategoryTreeCache categoryTreeCache;
 
     @PostMapping
     public StandardResponse<CategoryDTO> create(@RequestBody CategoryDTO dto) {
@@ -46,6 +51,39 @@ public class CategoryController {
         return StandardResponse.page(categories);
     }
 
+    /**
+     * The organization's whole category tree, with an ETag of its version. Send it back in
+     * If-None-Match to get 304 Not Modified while the tree is unchanged.
+     */
+    @GetMapping("/org/{orgId}/tree")
+    public ResponseEntity<StandardResponse<CategoryDTO>> tree(
+            @PathVariable("orgId") Long orgId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        CategoryTreeCache.Snapshot snapshot = categoryTreeCache.get(orgId);
+        if (matches(ifNoneMatch, snapshot.etag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(snapshot.etag()).build();
+        }
+        return ResponseEntity.ok()
+                .eTag(snapshot.etag())
+                .body(StandardResponse.list(snapshot.categories(), "Category tree fetched successfully"));
+    }
+
+    private static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
 
     @DeleteMapping("/{id}")
     public StandardResponse<String> delete(@PathVariable("id") Long id) {
@@ -2,6 +2,7 @@ package com.example.issueservice.controller;
 import com.example.issueservice.service.ProjectService;
 import com.its.common.dto.ProjectDTO;
 import com.its.common.dto.ProjectStatsDTO;
+import com.its.common.dto.TicketCountsDTO;
 import com.its.commonservice.dto.StandardResponse;
 import lombok.AllArgsConstructor;
 import org.springframework.data.domain.Page;
@@ -41,6 +42,24 @@ public class ProjectController {
         return StandardResponse.page(projects);
     }
 
+    /**
+     * Ticket counts by status and priority, served from maintained counters rather than COUNT queries.
+     */
+    @GetMapping("/{projectId}/ticket-counts")
+    public StandardResponse<TicketCountsDTO> getTicketCounts(@PathVariable("projectId") Long projectId) {
+        TicketCountsDTO counts = projectService.getTicketCounts(projectId);
+        return StandardResponse.single(counts, "Ticket counts fetched successfully");
+    }
+
+    /**
+     * Called by userservice when a support group of the project is created or changed.
+     */
+    @PostMapping("/{projectId}/routing/evict")
+    public StandardResponse<Void> evictGroupRouting(@PathVariable("projectId") Long projectId) {
+        projectService.evictGroupRouting(projectId);
+        return StandardResponse.message("Group routing evicted successfully");
+    }
+
     @DeleteMapping("/{projectId}")
     public StandardResponse<Void> deleteProject(@PathVariable("projectId") Long projectId) {
         projectService.deleteProject(projectId);
@@ -57,9 +76,14 @@ public class ProjectController {
     }
 
 
+    /**
+     * Project stats for the caller's organization. Only super admins may pass organisationId,
+     * and they get stats across all organizations when they leave it out.
+     */
     @GetMapping("/stats")
-    public ResponseEntity<StandardResponse<ProjectStatsDTO>> getProjectStatistics() {
-        ProjectStatsDTO stats = projectService.getProjectStats();
+    public ResponseEntity<StandardResponse<ProjectStatsDTO>> getProjectStatistics(
+            @RequestParam(name = "organisationId", required = false) Long organisationId) {
+        ProjectStatsDTO stats = projectService.getProjectStats(organisationId);
         return ResponseEntity.ok(StandardResponse.single(stats, "Projects stats fetch successful"));
     }
 }
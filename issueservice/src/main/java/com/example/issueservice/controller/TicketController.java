@@ -2,14 +2,30 @@ package com.example.issueservice.controller;
 
 import com.its.common.dto.TicketCommentDTO;
 import com.its.common.dto.TicketDTO;
+import com.its.common.dto.TicketFilterDTO;
+import com.its.common.dto.TicketImportStatusDTO;
+import com.its.common.dto.TicketTimelineEntryDTO;
+import com.example.issueservice.service.impl.TicketExportService;
+import com.example.issueservice.service.impl.TicketImportService;
+import com.example.issueservice.service.impl.TicketTimelineService;
 import com.example.issueservice.service.TicketService;
+import com.its.commonservice.dto.CursorPage;
 import com.its.commonservice.dto.StandardResponse;
 import com.its.commonservice.enums.TicketStatus;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.util.List;
 
 @RestController
 @RequestMapping("api/tickets")
@@ -17,6 +33,9 @@ import org.springframework.web.bind.annotation.*;
 public class TicketController {
 
     private final TicketService ticketService;
+    private final TicketImportService ticketImportService;
+    private final TicketExportService ticketExportService;
+    private final TicketTimelineService ticketTimelineService;
 
     @PostMapping
     public StandardResponse<TicketDTO> createTicket( @RequestBody TicketDTO ticketDTO) {
@@ -24,20 +43,94 @@ public class TicketController {
         return StandardResponse.single(created,"Ticket created successfully" );
     }
 
+    /**
+     * Starts importing a CSV (header row first) or NDJSON body into tickets and answers
+     * 202 Accepted once the body is received. Follow progress via
+     * GET /api/tickets/import/{importId} with the importId of the response.
+     */
+    @PostMapping(value = "/import", consumes = {"text/csv", "application/x-ndjson"})
+    public ResponseEntity<StandardResponse<TicketImportStatusDTO>> importTickets(HttpServletRequest request) throws IOException {
+        TicketImportStatusDTO started = ticketImportService.startImport(request.getInputStream(), request.getContentType());
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .header(HttpHeaders.LOCATION, "/api/tickets/import/" + started.getImportId())
+                .body(StandardResponse.single(started, "Ticket import started"));
+    }
+
+    /**
+     * Streams every ticket matching the list filters as CSV or NDJSON.
+     * columns limits and orders the output fields; all fields are written by default.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportTickets(
+            @ModelAttribute TicketFilterDTO filter,
+            @RequestParam(value = "format", defaultValue = "csv") String format,
+            @RequestParam(value = "columns", required = false) List<String> columns) {
+        StreamingResponseBody body = ticketExportService.export(filter, format, columns);
+        String extension = format.equalsIgnoreCase("ndjson") ? "ndjson" : "csv";
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(TicketExportService.contentType(format)))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"tickets." + extension + "\"")
+                .body(body);
+    }
+
+    /**
+     * Full-text search over titles, descriptions and comments. Every term must match;
+     * results are ranked by relevance and returned in the summary view.
+     */
+    @GetMapping("/search")
+    public StandardResponse<TicketDTO> searchTickets(
+            @RequestParam("q") String query,
+            @RequestParam(value = "projectId", required = false) Long projectId,
+            @RequestParam(value = "status", required = false) TicketStatus status,
+            @RequestParam(value = "limit", defaultValue = "20") int limit) {
+        List<TicketDTO> results = ticketService.searchTickets(query, projectId, status, limit);
+        return StandardResponse.list(results, "Tickets searched successfully");
+    }
+
+    @GetMapping("/import/{importId}")
+    public StandardResponse<TicketImportStatusDTO> getImportStatus(@PathVariable("importId") String importId) {
+        TicketImportStatusDTO status = ticketImportService.getStatus(importId);
+        return StandardResponse.single(status, "Ticket import status fetched successfully");
+    }
+
     @GetMapping("/{id}")
     public StandardResponse<TicketDTO> getTicket(@PathVariable("id") Long id) {
         TicketDTO ticket = ticketService.getTicketById(id);
         return StandardResponse.single(ticket,"Ticket fetched successfully");
     }
 
+    /**
+     * Comments, work notes, field changes and group changes of a ticket, oldest first.
+     * Pass the returned nextCursor to fetch the following page.
+     */
+    @GetMapping("/{id}/timeline")
+    public StandardResponse<TicketTimelineEntryDTO> getTimeline(
+            @PathVariable("id") Long id,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "50") int size) {
+        CursorPage<TicketTimelineEntryDTO> page = ticketTimelineService.getTimeline(id, cursor, size);
+        return StandardResponse.cursor(page);
+    }
+
+    /**
+     * Offset paging by default. Passing a cursor parameter (empty for the first page)
+     * switches to keyset paging, which returns nextCursor instead of page counts. Cursor
+     * pages are always ordered by id, newest first; combining a cursor with sort is rejected.
+     * Filters (projectId, status, priority, assignedToId, groupId, dueFrom, dueTo, archived)
+     * may be combined freely.
+     */
     @GetMapping
     public StandardResponse<TicketDTO> getAllTickets(
             Pageable pageable,
-            @RequestParam(value = "projectId", required = false) Long projectId,
-            @RequestParam(value = "status", required = false) String status,
-            @RequestParam(value = "priority", required = false) String priority
+            @ModelAttribute TicketFilterDTO filter,
+            @RequestParam(value = "view", required = false) String view,
+            @RequestParam(value = "cursor", required = false) String cursor
     ) {
-        Page<TicketDTO> tickets = ticketService.getAllTickets(pageable, projectId, status, priority);
+        if (cursor != null) {
+            CursorPage<TicketDTO> page = ticketService.getTicketsByCursor(cursor, pageable, filter, view);
+            return StandardResponse.cursor(page);
+        }
+        Page<TicketDTO> tickets = ticketService.getAllTickets(pageable, filter, view);
         return StandardResponse.page(tickets);
     }
 
@@ -13,7 +13,8 @@ import java.time.Instant;
  */
 @Entity
 @Table(name = "attachments", indexes = {
-    @Index(name = "idx_ticket_attachment", columnList = "ticket_id")
+    @Index(name = "idx_ticket_attachment", columnList = "ticket_id"),
+    @Index(name = "idx_attachment_content_hash", columnList = "content_hash")
 })
 @Data
 @NoArgsConstructor
@@ -34,6 +35,9 @@ public class AttachmentModel {
     @Column(nullable = false, length = 1000)
     private String filePath;  // Storage path or URL
     
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;  // Hex SHA-256 of the content; identical files share one blob
+    
     @Column(nullable = false, length = 100)
     private String contentType;
     
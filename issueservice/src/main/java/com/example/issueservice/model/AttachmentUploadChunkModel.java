@@ -0,0 +1,44 @@
+package com.example.issueservice.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+/**
+ * A verified chunk of a resumable upload. Written with native upserts; the entity exists
+ * so the schema is managed with the rest.
+ */
+@Entity
+@Table(name = "ATTACHMENT_UPLOAD_CHUNKS")
+@IdClass(AttachmentUploadChunkModel.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AttachmentUploadChunkModel {
+
+    @Id
+    @Column(name = "UPLOAD_ID", length = 36)
+    private String uploadId;
+
+    @Id
+    @Column(name = "CHUNK_INDEX")
+    private Integer chunkIndex;
+
+    @Column(name = "SHA256", nullable = false, length = 64)
+    private String sha256;
+
+    @Column(name = "RECEIVED_AT", nullable = false)
+    private Instant receivedAt;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private String uploadId;
+        private Integer chunkIndex;
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.issueservice.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.Instant;
+
+/**
+ * A resumable attachment upload in progress. The content is written chunk by chunk into a
+ * pre-allocated file named after the upload id; received chunks are recorded in
+ * ATTACHMENT_UPLOAD_CHUNKS, so an upload can resume after a client or service restart.
+ */
+@Entity
+@Table(name = "ATTACHMENT_UPLOAD_SESSIONS", indexes = {
+        @Index(name = "idx_upload_session_created", columnList = "CREATED_AT")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AttachmentUploadSessionModel {
+
+    public enum Status {
+        OPEN,
+        COMMITTING
+    }
+
+    @Id
+    @Column(name = "UPLOAD_ID", length = 36)
+    private String id;
+
+    @Column(name = "TICKET_ID", nullable = false)
+    private Long ticketId;
+
+    @Column(name = "FILE_NAME", nullable = false, length = 500)
+    private String fileName;
+
+    @Column(name = "CONTENT_TYPE", nullable = false, length = 100)
+    private String contentType;
+
+    @Column(name = "TOTAL_SIZE", nullable = false)
+    private Long totalSize;
+
+    @Column(name = "CHUNK_SIZE", nullable = false)
+    private Integer chunkSize;
+
+    @Column(name = "CHUNK_COUNT", nullable = false)
+    private Integer chunkCount;
+
+    // Hex SHA-256 of the whole file, if the client supplied one
+    @Column(name = "EXPECTED_SHA256", length = 64)
+    private String expectedSha256;
+
+    @Column(name = "UPLOADED_BY", nullable = false)
+    private Long uploadedBy;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "STATUS", nullable = false, length = 16)
+    private Status status = Status.OPEN;
+
+    @CreationTimestamp
+    @Column(name = "CREATED_AT", nullable = false, updatable = false)
+    private Instant createdAt;
+}
@@ -0,0 +1,24 @@
+package com.example.issueservice.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Last project code suffix issued per "ABBREVIATION-yyyyMMdd" key.
+ */
+@Entity
+@Table(name = "PROJECT_CODE_SEQUENCES")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProjectCodeSequenceModel {
+
+    @Id
+    @Column(name = "CODE_KEY", length = 40)
+    private String codeKey;
+
+    @Column(name = "LAST_ISSUED", nullable = false)
+    private Long lastIssued;
+}
@@ -1,6 +1,7 @@
 package com.example.issueservice.model;
 
-import com.its.utils.LongListJsonConverter;
+import com.its.utils.LongArrayList;
+import com.its.utils.LongListBinaryConverter;
 import com.its.commonservice.enums.ProjectStatus;
 import com.its.commonservice.enums.ProjectType;
 import com.its.commonservice.enums.SlaTier;
@@ -13,14 +14,15 @@ import lombok.ToString;
 
 
 import java.time.LocalDate;
-import java.util.ArrayList;
 import java.util.List;
 
 @Entity
 @Table(name = "PROJECTS", indexes = {
         @Index(name = "idx_project_name", columnList = "NAME"),
         @Index(name = "idx_project_status", columnList = "STATUS"),
-        @Index(name = "idx_project_sla", columnList = "SLA_TIER")
+        @Index(name = "idx_project_sla", columnList = "SLA_TIER"),
+        @Index(name = "idx_project_owner_org_status", columnList = "ORGANIZATION_ID, STATUS"),
+        @Index(name = "idx_project_client_org_status", columnList = "CLIENT_ORG_ID, STATUS")
 })
 @Getter
 @Setter
@@ -75,20 +77,20 @@ public class ProjectModel extends GenericModel {
     private Long clientOrganizationId;
 
     @Column(name = "TICKET_IDS", columnDefinition = "TEXT")
-    @Convert(converter = LongListJsonConverter.class)
-    private List<Long> ticketIds = new ArrayList<>();
+    @Convert(converter = LongListBinaryConverter.class)
+    private List<Long> ticketIds = new LongArrayList();
 
     @Column(name = "USER_ASSIGNMENT_IDS", columnDefinition = "TEXT")
-    @Convert(converter = LongListJsonConverter.class)
-    private List<Long> userAssignmentIds = new ArrayList<>();
+    @Convert(converter = LongListBinaryConverter.class)
+    private List<Long> userAssignmentIds = new LongArrayList();
 
     @Column(name = "TECH_STACK_IDS", columnDefinition = "TEXT")
-    @Convert(converter = LongListJsonConverter.class)
-    private List<Long> technologyStackIds = new ArrayList<>();
+    @Convert(converter = LongListBinaryConverter.class)
+    private List<Long> technologyStackIds = new LongArrayList();
 
     @Column(name = "USER_GROUPS_IDS", columnDefinition = "TEXT")
-    @Convert(converter = LongListJsonConverter.class)
-    private List<Long> userGroupIds = new ArrayList<>();
+    @Convert(converter = LongListBinaryConverter.class)
+    private List<Long> userGroupIds = new LongArrayList();
 
     @Column(nullable = true)
     private int progressPercentage = 0;
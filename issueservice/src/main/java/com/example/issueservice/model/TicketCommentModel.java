@@ -7,7 +7,9 @@ import lombok.Setter;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "TICKET_COMMENTS")
+@Table(name = "TICKET_COMMENTS", indexes = {
+        @Index(name = "idx_ticket_comment_ticket_created", columnList = "TICKET_ID, CREATED_AT")
+})
 @Getter
 @Setter
 public class TicketCommentModel extends GenericModel {
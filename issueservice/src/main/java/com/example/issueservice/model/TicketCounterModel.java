@@ -0,0 +1,55 @@
+package com.example.issueservice.model;
+
+import com.its.commonservice.enums.TicketPriority;
+import com.its.commonservice.enums.TicketStatus;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * One shard of the number of tickets per (project, status, priority), kept up to date by
+ * ticket writes; the count of a bucket is the sum over its shards.
+ * Written with JDBC upserts; the entity exists so the schema is managed with the rest.
+ */
+@Entity
+@Table(name = "TICKET_COUNTER_SHARDS")
+@IdClass(TicketCounterModel.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TicketCounterModel {
+
+    @Id
+    @Column(name = "PROJECT_ID")
+    private Long projectId;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(name = "STATUS", length = 32)
+    private TicketStatus status;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(name = "PRIORITY", length = 16)
+    private TicketPriority priority;
+
+    @Id
+    @Column(name = "SHARD")
+    private Integer shard;
+
+    @Column(name = "TICKET_COUNT", nullable = false)
+    private Long ticketCount;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long projectId;
+        private TicketStatus status;
+        private TicketPriority priority;
+        private Integer shard;
+    }
+}
@@ -6,15 +6,18 @@
     import lombok.Setter;
 
     import java.time.LocalDateTime;
-    import java.util.ArrayList;
-    import java.util.List;
 
     @Entity
     @Table(name = "TICKETS", indexes = {
-            @Index(name = "idx_ticket_status", columnList = "STATUS"),
             @Index(name = "idx_ticket_priority", columnList = "PRIORITY"),
-            @Index(name = "idx_ticket_project", columnList = "PROJECT_ID"),
-            @Index(name = "idx_ticket_created_by", columnList = "CREATED_BY_ID")
+            @Index(name = "idx_ticket_created_by", columnList = "CREATED_BY_ID"),
+            @Index(name = "idx_ticket_project_status_priority", columnList = "PROJECT_ID, STATUS, PRIORITY"),
+            @Index(name = "idx_ticket_project_priority", columnList = "PROJECT_ID, PRIORITY"),
+            @Index(name = "idx_ticket_status_priority", columnList = "STATUS, PRIORITY"),
+            @Index(name = "idx_ticket_assignee_status", columnList = "ASSIGNED_TO, STATUS"),
+            @Index(name = "idx_ticket_group_status", columnList = "GROUP_ID, STATUS"),
+            @Index(name = "idx_ticket_due_date", columnList = "DUE_DATE"),
+            @Index(name = "idx_ticket_sla_due", columnList = "SLA_BREACHED, SLA_DUE_AT")
     })
 
     @Getter
@@ -57,10 +60,15 @@
         @Column(name = "DUE_DATE")
         private LocalDateTime dueDate;
 
-        @ElementCollection
-        @CollectionTable(name = "ticket_comment_ids", joinColumns = @JoinColumn(name = "ticket_id"))
-        @Column(name = "comment_id")
-        private List<Long> commentIds = new ArrayList<>();
+        @Column(name = "SLA_DUE_AT")
+        private LocalDateTime slaDueAt;
+
+        // Set only by SlaWatcherService over JDBC; entity saves must not write them back
+        @Column(name = "SLA_BREACHED", nullable = false, updatable = false)
+        private Boolean slaBreached = false;
+
+        @Column(name = "SLA_BREACHED_AT", updatable = false)
+        private LocalDateTime slaBreachedAt;
 
 
         @Column(name = "IS_ARCHIVED")
@@ -0,0 +1,25 @@
+package com.example.issueservice.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Per-project high-water mark for ticket numbers.
+ * Instances reserve blocks by advancing LAST_RESERVED and then hand numbers out from memory.
+ */
+@Entity
+@Table(name = "TICKET_SEQUENCES")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TicketSequenceModel {
+
+    @Id
+    @Column(name = "PROJECT_ID")
+    private Long projectId;
+
+    @Column(name = "LAST_RESERVED", nullable = false)
+    private Long lastReserved;
+}
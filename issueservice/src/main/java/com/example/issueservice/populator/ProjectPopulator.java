@@ -4,32 +4,33 @@ import com.example.issueservice.model.ProjectModel;
 import com.its.common.dto.ProjectDTO;
 import com.its.common.dto.ProjectTechDTO;
 import com.its.common.populator.Populator;
-import com.example.issueservice.client.UserAssignmentClient;
-import com.its.common.dto.UserAssignmentDTO;
 import com.example.issueservice.repository.ProjectTechRepository;
+import com.example.issueservice.utils.ProjectMemberResolver;
 import org.springframework.stereotype.Component;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Component
 public class ProjectPopulator implements Populator<ProjectModel, ProjectDTO> {
 
     private final ProjectTechPopulator projectTechPopulator;
-    private final UserAssignmentClient userAssignmentClient;
+    private final ProjectMemberResolver projectMemberResolver;
     private final ProjectTechRepository projectTechRepository;
 
     public ProjectPopulator(ProjectTechPopulator projectTechPopulator,
-                            UserAssignmentClient userAssignmentClient,
+                            ProjectMemberResolver projectMemberResolver,
                             ProjectTechRepository projectTechRepository) {
         this.projectTechPopulator = projectTechPopulator;
-        this.userAssignmentClient = userAssignmentClient;
+        this.projectMemberResolver = projectMemberResolver;
         this.projectTechRepository = projectTechRepository;
     }
 
-    @Override
-    public void populate(ProjectModel source, ProjectDTO target) {
+    private void populateFields(ProjectModel source, ProjectDTO target) {
         if (source == null || target == null) {
             return;
         }
@@ -65,22 +66,6 @@ public class ProjectPopulator implements Populator<ProjectModel, ProjectDTO> {
             target.setClientOrganizationId(source.getClientOrganizationId());
         }
 
-        // Map Project Members via Feign using user IDs
-        if (source.getUserAssignmentIds() != null && !source.getUserAssignmentIds().isEmpty()) {
-            List<UserAssignmentDTO> members = new ArrayList<>();
-            for (Long userId : source.getUserAssignmentIds()) {
-                try {
-                    var resp = userAssignmentClient.getAssignmentsByUser(userId, 0, 50, "id", "ASC");
-                    if (resp != null && resp.getItems() != null) {
-                        members.addAll(resp.getItems());
-                    }
-                } catch (Exception ignored) {
-                    // ignore per-user fetch failure
-                }
-            }
-            target.setProjectMembers(members);
-        }
-
         // Map Technology Stack using repository by IDs
         if (source.getTechnologyStackIds() != null && !source.getTechnologyStackIds().isEmpty()) {
             var techModels = projectTechRepository.findAllById(source.getTechnologyStackIds());
@@ -93,9 +78,53 @@ public class ProjectPopulator implements Populator<ProjectModel, ProjectDTO> {
         }
     }
 
+    /**
+     * Copies a project's fields and resolves its members on their own.
+     */
+    @Override
+    public void populate(ProjectModel source, ProjectDTO target) {
+        populateFields(source, target);
+        if (source != null && target != null && hasMembers(source)) {
+            applyMembers(source, target, projectMemberResolver.resolve(source.getUserAssignmentIds()));
+        }
+    }
+
     public ProjectDTO toDTO(ProjectModel source) {
         ProjectDTO dto = new ProjectDTO();
         populate(source, dto);
         return dto;
     }
+
+    /**
+     * Converts a page of projects, resolving the members of all of them in one pass.
+     */
+    public List<ProjectDTO> toDTOs(Collection<ProjectModel> sources) {
+        Set<Long> memberIds = new LinkedHashSet<>();
+        for (ProjectModel source : sources) {
+            if (hasMembers(source)) {
+                memberIds.addAll(source.getUserAssignmentIds());
+            }
+        }
+        ProjectMemberResolver.Resolution members = memberIds.isEmpty() ? null : projectMemberResolver.resolve(memberIds);
+
+        List<ProjectDTO> dtos = new ArrayList<>(sources.size());
+        for (ProjectModel source : sources) {
+            ProjectDTO dto = new ProjectDTO();
+            populateFields(source, dto);
+            if (members != null && hasMembers(source)) {
+                applyMembers(source, dto, members);
+            }
+            dtos.add(dto);
+        }
+        return dtos;
+    }
+
+    private static boolean hasMembers(ProjectModel source) {
+        return source.getUserAssignmentIds() != null && !source.getUserAssignmentIds().isEmpty();
+    }
+
+    private static void applyMembers(ProjectModel source, ProjectDTO target, ProjectMemberResolver.Resolution members) {
+        target.setProjectMembers(members.assignmentsOf(source.getUserAssignmentIds()));
+        target.setProjectMembersPartial(members.isPartial(source.getUserAssignmentIds()));
+    }
 }
@@ -1,15 +1,25 @@
 package com.example.issueservice.populator;
 
+import com.example.issueservice.model.TicketCommentModel;
 import com.example.issueservice.model.TicketModel;
 import com.its.common.dto.TicketCommentDTO;
 import com.its.common.dto.TicketDTO;
 import com.its.common.dto.UserGroupDTO;
 import com.its.common.populator.Populator;
+import com.its.commonservice.enums.TicketView;
 import com.example.issueservice.client.UserServiceClient;
 import com.example.issueservice.repository.TicketCommentRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Component
@@ -33,6 +43,129 @@ public class TicketPopulator implements Populator<TicketModel, TicketDTO> {
             return;
         }
 
+        populateFields(source, target);
+        target.setComments(
+                ticketCommentRepository.findByTicketIdOrderByCreatedAtAsc(source.getId())
+                        .stream()
+                        .map(this::toCommentDTO)
+                        .collect(Collectors.toList())
+        );
+        target.setCommentCount((long) target.getComments().size());
+
+        if (source.getGroupId() != null) {
+            try {
+                UserGroupDTO groupDTO = userServiceClient.getUserGroupById(source.getGroupId()).getData();
+                target.setUserGroupDTO(groupDTO);
+            } catch (Exception ex) {
+                    UserGroupDTO groupDTO = new UserGroupDTO();
+                    target.setUserGroupDTO(groupDTO);
+            }
+        }
+    }
+
+    public TicketDTO toDTO(TicketModel source) {
+        TicketDTO dto = new TicketDTO();
+        populate(source, dto);
+        return dto;
+    }
+
+    public List<TicketDTO> toDTOs(Collection<TicketModel> sources) {
+        return toDTOs(sources, TicketView.FULL);
+    }
+
+    /**
+     * Converts a page of tickets, resolving all referenced user groups with a single
+     * batch call instead of one userservice round trip per ticket. Comments are loaded
+     * for the whole page in one query (FULL) or replaced by a per-ticket count (SUMMARY).
+     */
+    public List<TicketDTO> toDTOs(Collection<TicketModel> sources, TicketView view) {
+        List<TicketDTO> dtos = new ArrayList<>(sources.size());
+        for (TicketModel source : sources) {
+            TicketDTO dto = new TicketDTO();
+            populateFields(source, dto);
+            dtos.add(dto);
+        }
+        if (view == TicketView.SUMMARY) {
+            enrichCommentCounts(dtos);
+        } else {
+            enrichComments(dtos);
+        }
+        enrichUserGroups(dtos);
+        return dtos;
+    }
+
+    private void enrichComments(List<TicketDTO> dtos) {
+        List<Long> ticketIds = ticketIds(dtos);
+        if (ticketIds.isEmpty()) {
+            return;
+        }
+
+        Map<Long, List<TicketCommentDTO>> commentsByTicket = ticketCommentRepository
+                .findByTicketIdInOrderByCreatedAtAsc(ticketIds)
+                .stream()
+                .map(this::toCommentDTO)
+                .collect(Collectors.groupingBy(TicketCommentDTO::getTicketId));
+
+        for (TicketDTO dto : dtos) {
+            List<TicketCommentDTO> comments = commentsByTicket.getOrDefault(dto.getId(), new ArrayList<>());
+            dto.setComments(comments);
+            dto.setCommentCount((long) comments.size());
+        }
+    }
+
+    private void enrichCommentCounts(List<TicketDTO> dtos) {
+        List<Long> ticketIds = ticketIds(dtos);
+        if (ticketIds.isEmpty()) {
+            return;
+        }
+
+        Map<Long, Long> countsByTicket = new HashMap<>();
+        for (Object[] row : ticketCommentRepository.countByTicketIds(ticketIds)) {
+            countsByTicket.put((Long) row[0], (Long) row[1]);
+        }
+
+        for (TicketDTO dto : dtos) {
+            dto.setCommentCount(countsByTicket.getOrDefault(dto.getId(), 0L));
+        }
+    }
+
+    private List<Long> ticketIds(List<TicketDTO> dtos) {
+        return dtos.stream()
+                .map(TicketDTO::getId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    private void enrichUserGroups(List<TicketDTO> dtos) {
+        Set<Long> groupIds = dtos.stream()
+                .map(TicketDTO::getGroupId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        if (groupIds.isEmpty()) {
+            return;
+        }
+
+        Map<Long, UserGroupDTO> groupsById = new HashMap<>();
+        try {
+            List<UserGroupDTO> groups = userServiceClient.getUserGroupsByIds(groupIds).getItems();
+            if (groups != null) {
+                for (UserGroupDTO group : groups) {
+                    groupsById.put(group.getId(), group);
+                }
+            }
+        } catch (Exception ex) {
+            // Fall through: unresolved groups get an empty DTO, same as the single-ticket path
+        }
+
+        for (TicketDTO dto : dtos) {
+            if (dto.getGroupId() != null) {
+                UserGroupDTO groupDTO = groupsById.get(dto.getGroupId());
+                dto.setUserGroupDTO(groupDTO != null ? groupDTO : new UserGroupDTO());
+            }
+        }
+    }
+
+    private void populateFields(TicketModel source, TicketDTO target) {
         target.setId(source.getId());
         target.setTicketId(source.getTicketId());
 //        target.setTicketNumber(source.getTicketNumber());
@@ -41,6 +174,8 @@ public class TicketPopulator implements Populator<TicketModel, TicketDTO> {
         target.setPriority(source.getPriority());
         target.setStatus(source.getStatus());
         target.setDueDate(source.getDueDate());
+        target.setSlaDueAt(source.getSlaDueAt());
+        target.setSlaBreached(source.getSlaBreached());
         target.setResolvedAt(source.getResolvedAt());
         target.setArchived(source.getArchived());
         target.setIssueType(source.getIssueType());
@@ -52,16 +187,6 @@ public class TicketPopulator implements Populator<TicketModel, TicketDTO> {
             target.setProjectId(source.getProject().getId());
         }
 
-        if (source.getGroupId() != null) {
-            try {
-                UserGroupDTO groupDTO = userServiceClient.getUserGroupById(source.getGroupId()).getData();
-                target.setUserGroupDTO(groupDTO);
-            } catch (Exception ex) {
-                    UserGroupDTO groupDTO = new UserGroupDTO();
-                    target.setUserGroupDTO(groupDTO);
-            }
-        }
-
         if (source.getCreatedById() != null) {
             target.setCreatedById(source.getCreatedById());
         }
@@ -69,22 +194,11 @@ public class TicketPopulator implements Populator<TicketModel, TicketDTO> {
         if (source.getAssignedToId() != null) {
             target.setAssignedToId(source.getAssignedToId() );
         }
-
-        target.setComments(
-                ticketCommentRepository.findByTicketIdOrderByCreatedAtAsc(source.getId())
-                        .stream()
-                        .map(comment -> {
-                            TicketCommentDTO dto = new TicketCommentDTO();
-                            commentPopulator.populate(comment, dto);
-                            return dto;
-                        })
-                        .collect(Collectors.toList())
-        );
     }
 
-    public TicketDTO toDTO(TicketModel source) {
-        TicketDTO dto = new TicketDTO();
-        populate(source, dto);
+    private TicketCommentDTO toCommentDTO(TicketCommentModel comment) {
+        TicketCommentDTO dto = new TicketCommentDTO();
+        commentPopulator.populate(comment, dto);
         return dto;
     }
 }
@@ -5,9 +5,14 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface AttachmentRepository extends JpaRepository<AttachmentModel, Long> {
     
     List<AttachmentModel> findByTicketId(Long ticketId);
+
+    Optional<AttachmentModel> findByIdAndTicketId(Long id, Long ticketId);
+
+    boolean existsByContentHash(String contentHash);
 }
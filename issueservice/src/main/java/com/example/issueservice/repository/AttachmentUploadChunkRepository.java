@@ -0,0 +1,45 @@
+package com.example.issueservice.repository;
+
+import com.example.issueservice.model.AttachmentUploadChunkModel;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface AttachmentUploadChunkRepository extends JpaRepository<AttachmentUploadChunkModel, AttachmentUploadChunkModel.Key> {
+
+    /**
+     * Records a chunk as received; a re-sent chunk replaces the earlier record.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO attachment_upload_chunks (upload_id, chunk_index, sha256, received_at) "
+            + "VALUES (:uploadId, :chunkIndex, :sha256, :receivedAt) "
+            + "ON DUPLICATE KEY UPDATE sha256 = VALUES(sha256), received_at = VALUES(received_at)", nativeQuery = true)
+    void record(@Param("uploadId") String uploadId, @Param("chunkIndex") int chunkIndex,
+                @Param("sha256") String sha256, @Param("receivedAt") Instant receivedAt);
+
+    /**
+     * Forgets a chunk, so a re-send that fails part-way does not leave it counted as received.
+     */
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM AttachmentUploadChunkModel c WHERE c.uploadId = :uploadId AND c.chunkIndex = :chunkIndex")
+    void deleteChunk(@Param("uploadId") String uploadId, @Param("chunkIndex") int chunkIndex);
+
+    @Query("SELECT c.chunkIndex FROM AttachmentUploadChunkModel c WHERE c.uploadId = :uploadId ORDER BY c.chunkIndex")
+    List<Integer> findChunkIndexes(@Param("uploadId") String uploadId);
+
+    long countByUploadId(String uploadId);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM AttachmentUploadChunkModel c WHERE c.uploadId = :uploadId")
+    void deleteByUploadId(@Param("uploadId") String uploadId);
+}
@@ -0,0 +1,32 @@
+package com.example.issueservice.repository;
+
+import com.example.issueservice.model.AttachmentUploadSessionModel;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface AttachmentUploadSessionRepository extends JpaRepository<AttachmentUploadSessionModel, String> {
+
+    Optional<AttachmentUploadSessionModel> findByIdAndTicketId(String id, Long ticketId);
+
+    /**
+     * Moves a session from one status to another. Returns 0 when it was not in the expected status.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE AttachmentUploadSessionModel s SET s.status = :to WHERE s.id = :id AND s.status = :from")
+    int transition(@Param("id") String id,
+                   @Param("from") AttachmentUploadSessionModel.Status from,
+                   @Param("to") AttachmentUploadSessionModel.Status to);
+
+    @Query("SELECT s.id FROM AttachmentUploadSessionModel s WHERE s.createdAt < :cutoff")
+    List<String> findIdsCreatedBefore(@Param("cutoff") Instant cutoff);
+}
@@ -20,4 +20,13 @@ public interface CategoryRepository extends JpaRepository<CategoryModel, Long> {
     @Query("SELECT c FROM CategoryModel c WHERE c.id = :id")
     Optional<CategoryModel> findByIdWithSubCategories(Long id);
 
+    /**
+     * An organization's categories with their subcategories, in one query.
+     */
+    @Query("SELECT DISTINCT c FROM CategoryModel c LEFT JOIN FETCH c.subCategories WHERE c.organizationId = :orgId")
+    List<CategoryModel> findTreeByOrganizationId(@Param("orgId") Long organizationId);
+
+    @Query("SELECT c.organizationId FROM CategoryModel c WHERE c.id = :id")
+    Optional<Long> findOrganizationIdById(@Param("id") Long id);
+
 }
@@ -3,6 +3,8 @@ package com.example.issueservice.repository;
 import com.example.issueservice.model.GroupModel;
 import com.its.commonservice.enums.GroupLevel;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -12,6 +14,14 @@ import java.util.Optional;
 public interface GroupRepository extends JpaRepository<GroupModel, Long> {
     
     List<GroupModel> findByOrganizationId(Long organizationId);
+
+    /**
+     * An organization's groups with their member counts, in one query.
+     * Returns [GroupModel, Long] rows.
+     */
+    @Query("SELECT g, COUNT(m) FROM GroupModel g LEFT JOIN g.members m "
+            + "WHERE g.organizationId = :orgId GROUP BY g")
+    List<Object[]> findWithMemberCountByOrganizationId(@Param("orgId") Long organizationId);
     
     List<GroupModel> findByOrganizationIdAndLevel(Long organizationId, GroupLevel level);
     
@@ -12,6 +12,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -41,16 +42,21 @@ public interface ProjectRepository extends JpaRepository<ProjectModel, Long>, Jp
 
     boolean existsByProjectCode( String projectCode);
 
-    @Query("SELECT COUNT(p) FROM ProjectModel p")
-    long countAllProjects();
-
-    @Query("SELECT COUNT(p) FROM ProjectModel p WHERE p.status = com.its.commonservice.enums.ProjectStatus.IN_PROGRESS")
-    long countActiveProjects();
-
-    @Query("SELECT COUNT(p) FROM ProjectModel p WHERE p.status = com.its.commonservice.enums.ProjectStatus.COMPLETED")
-    long countCompletedProjects();
-
-    @Query("SELECT COUNT(p) FROM ProjectModel p WHERE p.status = com.its.commonservice.enums.ProjectStatus.ON_HOLD")
-    long countOnHoldProjects();
+    /**
+     * Project counts per status across all organizations. Returns [status name, count] rows.
+     */
+    @Query(value = "SELECT status, COUNT(*) FROM projects GROUP BY status", nativeQuery = true)
+    List<Object[]> countAllByStatus();
+
+    /**
+     * Project counts per status for the projects an organization owns or is the client of.
+     * Each side of the UNION reads its own (organization, status) index, and the UNION counts
+     * a project the organization is both owner and client of once. Returns [status name, count] rows.
+     */
+    @Query(value = "SELECT status, COUNT(*) FROM ("
+            + "SELECT id, status FROM projects WHERE organization_id = :orgId "
+            + "UNION SELECT id, status FROM projects WHERE client_org_id = :orgId) p "
+            + "GROUP BY status", nativeQuery = true)
+    List<Object[]> countByStatusForOrganization(@Param("orgId") Long organizationId);
 
 }
@@ -2,8 +2,11 @@ package com.example.issueservice.repository;
 
 import com.example.issueservice.model.TicketCommentModel;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -11,4 +14,9 @@ public interface TicketCommentRepository extends JpaRepository<TicketCommentMode
 
     List<TicketCommentModel> findByTicketIdOrderByCreatedAtAsc(Long ticketId);
 
+    List<TicketCommentModel> findByTicketIdInOrderByCreatedAtAsc(Collection<Long> ticketIds);
+
+    @Query("SELECT c.ticket.id, COUNT(c) FROM TicketCommentModel c WHERE c.ticket.id IN :ticketIds GROUP BY c.ticket.id")
+    List<Object[]> countByTicketIds(@Param("ticketIds") Collection<Long> ticketIds);
+
 }
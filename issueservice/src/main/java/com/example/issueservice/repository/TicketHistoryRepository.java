@@ -2,6 +2,9 @@ package com.example.issueservice.repository;
 
 import com.example.issueservice.model.TicketHistoryModel;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -10,4 +13,8 @@ import java.util.List;
 public interface TicketHistoryRepository extends JpaRepository<TicketHistoryModel, Long> {
     
     List<TicketHistoryModel> findByTicketIdOrderByCreatedAtDesc(Long ticketId);
+
+    @Modifying
+    @Query("DELETE FROM TicketHistoryModel h WHERE h.ticket.id = :ticketId")
+    int deleteByTicketId(@Param("ticketId") Long ticketId);
 }
@@ -2,32 +2,27 @@ package com.example.issueservice.repository;
 
 import com.example.issueservice.model.ProjectModel;
 import com.example.issueservice.model.TicketModel;
-import com.its.commonservice.enums.TicketPriority;
-import com.its.commonservice.enums.TicketStatus;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
-public interface TicketRepository extends JpaRepository<TicketModel, Long> {
+import java.time.LocalDateTime;
+import java.util.List;
 
-    Page<TicketModel> findByProjectId(Long projectId, Pageable pageable);
-
-    Page<TicketModel> findByStatus(TicketStatus status, Pageable pageable);
-
-    Page<TicketModel> findByPriority(TicketPriority priority, Pageable pageable);
-
-    Page<TicketModel> findByProjectIdAndStatus(Long projectId, TicketStatus status, Pageable pageable);
-
-    Page<TicketModel> findByProjectIdAndPriority(Long projectId, TicketPriority priority, Pageable pageable);
-
-    Page<TicketModel> findByStatusAndPriority(TicketStatus status, TicketPriority priority, Pageable pageable);
-
-    Page<TicketModel> findByProjectIdAndStatusAndPriority(Long projectId, TicketStatus status, TicketPriority priority, Pageable pageable);
+public interface TicketRepository extends JpaRepository<TicketModel, Long>, JpaSpecificationExecutor<TicketModel> {
 
     Long countByProject(ProjectModel project);
 
     @Query("SELECT COALESCE(MAX(t.ticketNumber), 0) FROM TicketModel t WHERE t.project.id = :projectId")
     Long getLastTicketNumberByProject(@Param("projectId") Long projectId);
+
+    /**
+     * (id, slaDueAt) of every open ticket whose SLA has not been breached yet; served by idx_ticket_sla_due.
+     */
+    @Query("SELECT t.id, t.slaDueAt FROM TicketModel t WHERE t.slaBreached = false AND t.slaDueAt IS NOT NULL")
+    List<Object[]> findPendingSlaDeadlines();
+
+    @Query("SELECT t.id, t.slaDueAt FROM TicketModel t WHERE t.slaBreached = false AND t.slaDueAt < :before")
+    List<Object[]> findPendingSlaDeadlinesBefore(@Param("before") LocalDateTime before);
 }
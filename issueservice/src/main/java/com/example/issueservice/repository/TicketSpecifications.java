@@ -0,0 +1,63 @@
+package com.example.issueservice.repository;
+
+import com.example.issueservice.model.TicketModel;
+import com.its.commonservice.enums.TicketPriority;
+import com.its.commonservice.enums.TicketStatus;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+
+/**
+ * Composable ticket predicates. Each factory returns null for a null argument,
+ * which Specification.and treats as "no restriction".
+ */
+public final class TicketSpecifications {
+
+    private TicketSpecifications() {
+    }
+
+    public static Specification<TicketModel> projectIs(Long projectId) {
+        return projectId == null ? null
+                : (root, query, cb) -> cb.equal(root.get("project").get("id"), projectId);
+    }
+
+    public static Specification<TicketModel> statusIs(TicketStatus status) {
+        return status == null ? null
+                : (root, query, cb) -> cb.equal(root.get("status"), status);
+    }
+
+    public static Specification<TicketModel> priorityIs(TicketPriority priority) {
+        return priority == null ? null
+                : (root, query, cb) -> cb.equal(root.get("priority"), priority);
+    }
+
+    public static Specification<TicketModel> assignedTo(Long assignedToId) {
+        return assignedToId == null ? null
+                : (root, query, cb) -> cb.equal(root.get("assignedToId"), assignedToId);
+    }
+
+    public static Specification<TicketModel> groupIs(Long groupId) {
+        return groupId == null ? null
+                : (root, query, cb) -> cb.equal(root.get("groupId"), groupId);
+    }
+
+    public static Specification<TicketModel> dueOnOrAfter(LocalDateTime from) {
+        return from == null ? null
+                : (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("dueDate"), from);
+    }
+
+    public static Specification<TicketModel> dueOnOrBefore(LocalDateTime to) {
+        return to == null ? null
+                : (root, query, cb) -> cb.lessThanOrEqualTo(root.get("dueDate"), to);
+    }
+
+    public static Specification<TicketModel> archivedIs(Boolean archived) {
+        return archived == null ? null
+                : (root, query, cb) -> cb.equal(root.get("archived"), archived);
+    }
+
+    public static Specification<TicketModel> idBefore(Long id) {
+        return id == null ? null
+                : (root, query, cb) -> cb.lessThan(root.get("id"), id);
+    }
+}
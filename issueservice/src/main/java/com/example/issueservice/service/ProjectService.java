@@ -2,6 +2,7 @@ package com.example.issueservice.service;
 
 import com.its.common.dto.ProjectDTO;
 import com.its.common.dto.ProjectStatsDTO;
+import com.its.common.dto.TicketCountsDTO;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
@@ -17,6 +18,10 @@ public interface ProjectService {
 
     Page<ProjectDTO> getProjectsForOrganization(Long organizationId, Pageable pageable);
 
-    ProjectStatsDTO getProjectStats();
+    ProjectStatsDTO getProjectStats(Long organizationId);
+
+    TicketCountsDTO getTicketCounts(Long projectId);
+
+    void evictGroupRouting(Long projectId);
 
 }
@@ -2,17 +2,23 @@ package com.example.issueservice.service;
 
 import com.its.common.dto.TicketCommentDTO;
 import com.its.common.dto.TicketDTO;
+import com.its.common.dto.TicketFilterDTO;
+import com.its.commonservice.dto.CursorPage;
 import com.its.commonservice.enums.TicketStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.util.List;
+
 public interface TicketService {
 
     TicketDTO createOrUpdateTicket(TicketDTO ticketDTO);
 
     TicketDTO getTicketById(Long ticketId);
 
-    Page<TicketDTO> getAllTickets(Pageable pageable, Long projectId, String status, String priority);
+    Page<TicketDTO> getAllTickets(Pageable pageable, TicketFilterDTO filter, String view);
+
+    CursorPage<TicketDTO> getTicketsByCursor(String cursor, Pageable pageable, TicketFilterDTO filter, String view);
 
     void deleteTicket(Long ticketId);
 
@@ -22,4 +28,6 @@ public interface TicketService {
 
 
     TicketDTO updateTicketStatus(Long ticketId, TicketStatus status);
+
+    List<TicketDTO> searchTickets(String query, Long projectId, TicketStatus status, int limit);
 }
@@ -0,0 +1,230 @@
+package com.example.issueservice.service.impl;
+
+import com.example.issueservice.repository.AttachmentRepository;
+import com.its.commonservice.exception.ErrorCode;
+import com.its.commonservice.exception.HltCustomerException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Content-addressed attachment storage on the local filesystem.
+ *
+ * Uploads are streamed through a fixed direct buffer into a temp file while their SHA-256 is
+ * computed, then moved to blobs/ab/cd/&lt;hash&gt;. Content that is already stored is kept once:
+ * the new copy is discarded and attachment rows share the existing blob. Blobs are never
+ * deleted inline; a periodic sweep removes blobs no attachment references once they are
+ * older than the grace period, so a blob cannot vanish between a duplicate upload and the
+ * commit of its row. Adopting a blob and the sweep's final check-and-delete of it hold the
+ * same striped lock, so a blob refreshed by a duplicate upload is never deleted under it.
+ */
+@Slf4j
+@Component
+public class AttachmentBlobStore {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final Pattern HASH = Pattern.compile("[0-9a-f]{64}");
+    private static final int LOCK_STRIPES = 64;
+
+    /**
+     * A stored blob. path is relative to the blob directory and is what attachments keep in filePath.
+     */
+    public record StoredBlob(String contentHash, long size, String path) {
+    }
+
+    private final AttachmentRepository attachmentRepository;
+    private final Path blobDir;
+    private final Path tempDir;
+    private final long graceMillis;
+    private final Object[] locks = new Object[LOCK_STRIPES];
+
+    public AttachmentBlobStore(AttachmentRepository attachmentRepository,
+                               @Value("${attachments.storage.dir:data/attachments}") String storageDir,
+                               @Value("${attachments.gc.grace-ms:3600000}") long graceMillis) {
+        this.attachmentRepository = attachmentRepository;
+        Path root = Paths.get(storageDir).toAbsolutePath().normalize();
+        this.blobDir = root.resolve("blobs");
+        this.tempDir = root.resolve("tmp");
+        this.graceMillis = graceMillis;
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new Object();
+        }
+    }
+
+    /**
+     * Streams the content to disk and stores it under its hash. Fails with FILE_TOO_LARGE
+     * as soon as more than maxBytes have been read.
+     */
+    public StoredBlob store(InputStream content, long maxBytes) {
+        Path temp = newTempFile("upload-");
+        try {
+            MessageDigest digest = sha256();
+            long size = 0;
+            ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+            try (ReadableByteChannel source = Channels.newChannel(content);
+                 FileChannel target = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                while (source.read(buffer) != -1) {
+                    buffer.flip();
+                    size += buffer.remaining();
+                    if (size > maxBytes) {
+                        throw new HltCustomerException(ErrorCode.FILE_TOO_LARGE);
+                    }
+                    buffer.mark();
+                    digest.update(buffer);
+                    buffer.reset();
+                    while (buffer.hasRemaining()) {
+                        target.write(buffer);
+                    }
+                    buffer.clear();
+                }
+                target.force(true);
+            }
+            return adopt(temp, HexFormat.of().formatHex(digest.digest()), size);
+        } catch (IOException e) {
+            log.error("Attachment storage: failed to write upload", e);
+            throw new HltCustomerException(ErrorCode.FILE_UPLOAD_FAILED);
+        } finally {
+            deleteQuietly(temp);
+        }
+    }
+
+    /**
+     * Moves a fully written file with a known hash into the store. The file is consumed:
+     * it is either moved into place or deleted when the content is already stored.
+     */
+    public StoredBlob adopt(Path file, String contentHash, long size) throws IOException {
+        Path blob = blobPath(contentHash);
+        synchronized (lockFor(contentHash)) {
+            if (Files.exists(blob)) {
+                // Refresh the timestamp so the sweep leaves it alone until the new row commits
+                Files.setLastModifiedTime(blob, FileTime.fromMillis(System.currentTimeMillis()));
+                Files.delete(file);
+            } else {
+                Files.createDirectories(blob.getParent());
+                try {
+                    Files.move(file, blob, StandardCopyOption.ATOMIC_MOVE);
+                } catch (FileAlreadyExistsException e) {
+                    // Stored concurrently by another upload of the same content
+                    Files.delete(file);
+                }
+            }
+        }
+        return new StoredBlob(contentHash, size, blobDir.relativize(blob).toString());
+    }
+
+    /**
+     * The file behind an attachment's stored path.
+     */
+    public Path resolve(String path) {
+        Path file = blobDir.resolve(path).normalize();
+        if (!file.startsWith(blobDir) || !Files.isRegularFile(file)) {
+            throw new HltCustomerException(ErrorCode.FILE_NOT_FOUND);
+        }
+        return file;
+    }
+
+    /**
+     * Deletes blobs no attachment references and abandoned temp files, once older than the grace period.
+     */
+    @Scheduled(fixedDelayString = "${attachments.gc-ms:3600000}", initialDelayString = "${attachments.gc-ms:3600000}")
+    public void sweep() {
+        long cutoff = System.currentTimeMillis() - graceMillis;
+        int removed = 0;
+        for (Path blob : olderThan(blobDir, cutoff)) {
+            String hash = blob.getFileName().toString();
+            if (HASH.matcher(hash).matches() && !attachmentRepository.existsByContentHash(hash)) {
+                synchronized (lockFor(hash)) {
+                    // adopt() may have refreshed it since the listing
+                    if (lastModified(blob) < cutoff) {
+                        removed += deleteQuietly(blob) ? 1 : 0;
+                    }
+                }
+            }
+        }
+        for (Path temp : olderThan(tempDir, cutoff)) {
+            deleteQuietly(temp);
+        }
+        if (removed > 0) {
+            log.info("Attachment storage: removed {} unreferenced blob(s)", removed);
+        }
+    }
+
+    private Object lockFor(String contentHash) {
+        return locks[Math.floorMod(contentHash.hashCode(), LOCK_STRIPES)];
+    }
+
+    private Path blobPath(String contentHash) {
+        return blobDir.resolve(contentHash.substring(0, 2)).resolve(contentHash.substring(2, 4)).resolve(contentHash);
+    }
+
+    private Path newTempFile(String prefix) {
+        try {
+            Files.createDirectories(tempDir);
+            return Files.createTempFile(tempDir, prefix, ".part");
+        } catch (IOException e) {
+            log.error("Attachment storage: cannot create temp file in {}", tempDir, e);
+            throw new HltCustomerException(ErrorCode.FILE_UPLOAD_FAILED);
+        }
+    }
+
+    private static List<Path> olderThan(Path dir, long cutoffMillis) {
+        if (!Files.isDirectory(dir)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.walk(dir)) {
+            return files.filter(Files::isRegularFile)
+                    .filter(file -> lastModified(file) < cutoffMillis)
+                    .toList();
+        } catch (IOException | UncheckedIOException e) {
+            log.error("Attachment storage: cannot list {}", dir, e);
+            return List.of();
+        }
+    }
+
+    private static long lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file).toMillis();
+        } catch (IOException e) {
+            return Long.MAX_VALUE;
+        }
+    }
+
+    private static boolean deleteQuietly(Path file) {
+        try {
+            return Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Attachment storage: cannot delete {}", file, e);
+            return false;
+        }
+    }
+
+    static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
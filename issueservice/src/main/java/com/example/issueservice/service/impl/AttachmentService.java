@@ -0,0 +1,228 @@
+package com.example.issueservice.service.impl;
+
+import com.example.issueservice.model.AttachmentModel;
+import com.example.issueservice.repository.AttachmentRepository;
+import com.example.issueservice.repository.TicketRepository;
+import com.its.common.dto.AttachmentDTO;
+import com.its.commonservice.exception.ErrorCode;
+import com.its.commonservice.exception.HltCustomerException;
+import com.its.commonservice.util.SecurityUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Ticket attachments backed by the content-addressed {@link AttachmentBlobStore}.
+ * Uploads stream straight to disk; downloads are served with FileChannel.transferTo
+ * and honour single-range HTTP Range requests.
+ */
+@Service
+public class AttachmentService {
+
+    private static final String DEFAULT_CONTENT_TYPE = "application/octet-stream";
+
+    private final AttachmentRepository attachmentRepository;
+    private final TicketRepository ticketRepository;
+    private final AttachmentBlobStore blobStore;
+    private final long maxSizeBytes;
+
+    public AttachmentService(AttachmentRepository attachmentRepository,
+                             TicketRepository ticketRepository,
+                             AttachmentBlobStore blobStore,
+                             @Value("${attachments.max-size-bytes:104857600}") long maxSizeBytes) {
+        this.attachmentRepository = attachmentRepository;
+        this.ticketRepository = ticketRepository;
+        this.blobStore = blobStore;
+        this.maxSizeBytes = maxSizeBytes;
+    }
+
+    /**
+     * FILE_RANGE_NOT_SATISFIABLE, carrying the file size for the Content-Range header of the 416.
+     */
+    public static final class RangeNotSatisfiableException extends HltCustomerException {
+
+        private final long totalSize;
+
+        public RangeNotSatisfiableException(long totalSize) {
+            super(ErrorCode.FILE_RANGE_NOT_SATISFIABLE);
+            this.totalSize = totalSize;
+        }
+
+        public long getTotalSize() {
+            return totalSize;
+        }
+    }
+
+    /**
+     * A resolved download: the whole file, or the byte range [start, start + length) of it.
+     */
+    public record Download(String fileName, String contentType, Path file,
+                           long start, long length, long totalSize, boolean partial) {
+
+        public void writeTo(OutputStream out) throws IOException {
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                WritableByteChannel target = Channels.newChannel(out);
+                long position = start;
+                long remaining = length;
+                while (remaining > 0) {
+                    long sent = channel.transferTo(position, remaining, target);
+                    if (sent <= 0) {
+                        break;
+                    }
+                    position += sent;
+                    remaining -= sent;
+                }
+            }
+        }
+    }
+
+    public AttachmentDTO upload(Long ticketId, String fileName, String contentType, long contentLength, InputStream content) {
+        if (fileName == null || fileName.isBlank()) {
+            throw new HltCustomerException(ErrorCode.MISSING_REQUIRED_FIELD, "fileName is required");
+        }
+        if (contentLength > maxSizeBytes) {
+            throw new HltCustomerException(ErrorCode.FILE_TOO_LARGE);
+        }
+        if (contentType != null && !contentType.isBlank()) {
+            try {
+                MediaType.parseMediaType(contentType);
+            } catch (InvalidMediaTypeException e) {
+                throw new HltCustomerException(ErrorCode.INVALID_FILE_TYPE, "Invalid content type: " + contentType);
+            }
+        }
+        Long uploadedBy = requireCurrentUserId();
+        if (!ticketRepository.existsById(ticketId)) {
+            throw new HltCustomerException(ErrorCode.TICKET_NOT_FOUND);
+        }
+
+        AttachmentBlobStore.StoredBlob blob = blobStore.store(content, maxSizeBytes);
+        return toDTO(saveAttachment(ticketId, fileName, contentType, uploadedBy, blob));
+    }
+
+    /**
+     * Records an attachment row for content already in the blob store.
+     */
+    AttachmentModel saveAttachment(Long ticketId, String fileName, String contentType, Long uploadedBy,
+                                   AttachmentBlobStore.StoredBlob blob) {
+        AttachmentModel attachment = new AttachmentModel();
+        attachment.setTicket(ticketRepository.getReferenceById(ticketId));
+        attachment.setFileName(fileName);
+        attachment.setContentType(contentType != null && !contentType.isBlank() ? contentType : DEFAULT_CONTENT_TYPE);
+        attachment.setFilePath(blob.path());
+        attachment.setContentHash(blob.contentHash());
+        attachment.setFileSize(blob.size());
+        attachment.setUploadedBy(uploadedBy);
+        return attachmentRepository.save(attachment);
+    }
+
+    public List<AttachmentDTO> getAttachments(Long ticketId) {
+        return attachmentRepository.findByTicketId(ticketId).stream().map(this::toDTO).toList();
+    }
+
+    /**
+     * Resolves a download, applying the Range header when it names a single satisfiable range.
+     * Multi-range and malformed headers are ignored and the whole file is served.
+     */
+    public Download openDownload(Long ticketId, Long attachmentId, String rangeHeader) {
+        AttachmentModel attachment = findAttachment(ticketId, attachmentId);
+        Path file = blobStore.resolve(attachment.getFilePath());
+        long total;
+        try {
+            total = Files.size(file);
+        } catch (IOException e) {
+            throw new HltCustomerException(ErrorCode.FILE_NOT_FOUND);
+        }
+
+        long[] range = parseRange(rangeHeader, total);
+        if (range == null) {
+            return new Download(attachment.getFileName(), attachment.getContentType(), file, 0, total, total, false);
+        }
+        return new Download(attachment.getFileName(), attachment.getContentType(), file,
+                range[0], range[1] - range[0] + 1, total, true);
+    }
+
+    public void deleteAttachment(Long ticketId, Long attachmentId) {
+        // The blob itself is removed by the store's sweep once nothing references it
+        attachmentRepository.delete(findAttachment(ticketId, attachmentId));
+    }
+
+    /**
+     * Parses "bytes=a-b", "bytes=a-" and "bytes=-n" into an inclusive [first, last] pair,
+     * or returns null when the whole file should be served.
+     */
+    static long[] parseRange(String header, long total) {
+        if (header == null || !header.startsWith("bytes=") || header.indexOf(',') >= 0) {
+            return null;
+        }
+        String spec = header.substring("bytes=".length()).trim();
+        int dash = spec.indexOf('-');
+        if (dash < 0) {
+            return null;
+        }
+        try {
+            String from = spec.substring(0, dash).trim();
+            String to = spec.substring(dash + 1).trim();
+            long first;
+            long last;
+            if (from.isEmpty()) {
+                long suffix = Long.parseLong(to);
+                if (suffix <= 0 || total == 0) {
+                    throw new RangeNotSatisfiableException(total);
+                }
+                first = Math.max(0, total - suffix);
+                last = total - 1;
+            } else {
+                first = Long.parseLong(from);
+                long end = to.isEmpty() ? total - 1 : Long.parseLong(to);
+                if (first < 0 || end < first) {
+                    return null;
+                }
+                last = Math.min(end, total - 1);
+            }
+            if (first >= total) {
+                throw new RangeNotSatisfiableException(total);
+            }
+            return new long[]{first, last};
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private AttachmentModel findAttachment(Long ticketId, Long attachmentId) {
+        return attachmentRepository.findByIdAndTicketId(attachmentId, ticketId)
+                .orElseThrow(() -> new HltCustomerException(ErrorCode.FILE_NOT_FOUND));
+    }
+
+    static Long requireCurrentUserId() {
+        Long userId = SecurityUtils.getCurrentUserId();
+        if (userId == null) {
+            throw new HltCustomerException(ErrorCode.UNAUTHORIZED);
+        }
+        return userId;
+    }
+
+    AttachmentDTO toDTO(AttachmentModel model) {
+        return AttachmentDTO.builder()
+                .id(model.getId())
+                .ticketId(model.getTicket() != null ? model.getTicket().getId() : null)
+                .fileName(model.getFileName())
+                .contentType(model.getContentType())
+                .fileSize(model.getFileSize())
+                .contentHash(model.getContentHash())
+                .uploadedBy(model.getUploadedBy())
+                .uploadedAt(model.getUploadedAt())
+                .build();
+    }
+}
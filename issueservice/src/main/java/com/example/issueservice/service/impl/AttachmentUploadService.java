@@ -0,0 +1,382 @@
+package com.example.issueservice.service.impl;
+
+import com.example.issueservice.model.AttachmentModel;
+import com.example.issueservice.model.AttachmentUploadSessionModel;
+import com.example.issueservice.repository.AttachmentUploadChunkRepository;
+import com.example.issueservice.repository.AttachmentUploadSessionRepository;
+import com.example.issueservice.repository.TicketRepository;
+import com.its.common.dto.AttachmentDTO;
+import com.its.common.dto.AttachmentUploadRequestDTO;
+import com.its.common.dto.AttachmentUploadSessionDTO;
+import com.its.commonservice.exception.ErrorCode;
+import com.its.commonservice.exception.HltCustomerException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * Resumable, chunked attachment uploads: initiate, PUT each chunk (in any order, in
+ * parallel), then commit.
+ *
+ * Initiating pre-allocates a file of the final size. Each chunk is written at its own
+ * offset with positional writes, verified against the SHA-256 the client sent for it, and
+ * recorded in ATTACHMENT_UPLOAD_CHUNKS only once it is on disk, so after a restart the
+ * session reports exactly which chunks still need sending. Commit checks that every chunk
+ * arrived, hashes the whole file, verifies it against the expected hash when one was given,
+ * and hands the file to the blob store. Sessions not committed within the TTL are discarded.
+ *
+ * Chunk writes of a session share its read lock and re-check that it is still open under
+ * it; commit and discard take the write lock to leave OPEN, so they wait for writes in
+ * flight and no write starts after them. A re-sent chunk's record is dropped before its
+ * bytes are overwritten and only restored once the new bytes verify.
+ */
+@Slf4j
+@Service
+public class AttachmentUploadService {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int MIN_CHUNK_SIZE = 256 * 1024;
+    private static final Pattern SHA256_HEX = Pattern.compile("[0-9a-f]{64}");
+    private static final String DEFAULT_CONTENT_TYPE = "application/octet-stream";
+
+    private final AttachmentUploadSessionRepository sessionRepository;
+    private final AttachmentUploadChunkRepository chunkRepository;
+    private final TicketRepository ticketRepository;
+    private final AttachmentBlobStore blobStore;
+    private final AttachmentService attachmentService;
+    private final TransactionTemplate transactionTemplate;
+    private final Path uploadDir;
+    private final long maxSizeBytes;
+    private final int defaultChunkSize;
+    private final int maxChunkSize;
+    private final long ttlMillis;
+    private final Map<String, ReadWriteLock> sessionLocks = new ConcurrentHashMap<>();
+
+    public AttachmentUploadService(AttachmentUploadSessionRepository sessionRepository,
+                                   AttachmentUploadChunkRepository chunkRepository,
+                                   TicketRepository ticketRepository,
+                                   AttachmentBlobStore blobStore,
+                                   AttachmentService attachmentService,
+                                   PlatformTransactionManager transactionManager,
+                                   @Value("${attachments.storage.dir:data/attachments}") String storageDir,
+                                   @Value("${attachments.uploads.max-size-bytes:5368709120}") long maxSizeBytes,
+                                   @Value("${attachments.uploads.chunk-size:8388608}") int defaultChunkSize,
+                                   @Value("${attachments.uploads.max-chunk-size:67108864}") int maxChunkSize,
+                                   @Value("${attachments.uploads.ttl-ms:86400000}") long ttlMillis) {
+        this.sessionRepository = sessionRepository;
+        this.chunkRepository = chunkRepository;
+        this.ticketRepository = ticketRepository;
+        this.blobStore = blobStore;
+        this.attachmentService = attachmentService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.uploadDir = Paths.get(storageDir).toAbsolutePath().normalize().resolve("uploads");
+        this.maxSizeBytes = maxSizeBytes;
+        this.defaultChunkSize = defaultChunkSize;
+        this.maxChunkSize = maxChunkSize;
+        this.ttlMillis = ttlMillis;
+    }
+
+    public AttachmentUploadSessionDTO initiate(Long ticketId, AttachmentUploadRequestDTO request) {
+        long totalSize = request.getTotalSize();
+        if (totalSize > maxSizeBytes) {
+            throw new HltCustomerException(ErrorCode.FILE_TOO_LARGE);
+        }
+        int chunkSize = request.getChunkSize() != null ? request.getChunkSize() : defaultChunkSize;
+        if (chunkSize < MIN_CHUNK_SIZE || chunkSize > maxChunkSize) {
+            throw new HltCustomerException(ErrorCode.INVALID_INPUT,
+                    "chunkSize must be between " + MIN_CHUNK_SIZE + " and " + maxChunkSize + " bytes");
+        }
+        long chunkCount = (totalSize + chunkSize - 1) / chunkSize;
+        if (chunkCount > Integer.MAX_VALUE) {
+            throw new HltCustomerException(ErrorCode.INVALID_INPUT, "Too many chunks");
+        }
+        String expectedSha256 = normalizeSha256(request.getSha256(), "sha256");
+        Long uploadedBy = AttachmentService.requireCurrentUserId();
+        if (!ticketRepository.existsById(ticketId)) {
+            throw new HltCustomerException(ErrorCode.TICKET_NOT_FOUND);
+        }
+
+        String uploadId = UUID.randomUUID().toString();
+        Path file = uploadFile(uploadId);
+        try {
+            Files.createDirectories(uploadDir);
+            try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+                raf.setLength(totalSize);
+            }
+        } catch (IOException e) {
+            log.error("Attachment uploads: cannot allocate {} bytes for {}", totalSize, uploadId, e);
+            deleteQuietly(file);
+            throw new HltCustomerException(ErrorCode.FILE_UPLOAD_FAILED);
+        }
+
+        AttachmentUploadSessionModel session = new AttachmentUploadSessionModel();
+        session.setId(uploadId);
+        session.setTicketId(ticketId);
+        session.setFileName(request.getFileName());
+        session.setContentType(request.getContentType() != null && !request.getContentType().isBlank()
+                ? request.getContentType() : DEFAULT_CONTENT_TYPE);
+        session.setTotalSize(totalSize);
+        session.setChunkSize(chunkSize);
+        session.setChunkCount((int) chunkCount);
+        session.setExpectedSha256(expectedSha256);
+        session.setUploadedBy(uploadedBy);
+        return toDTO(sessionRepository.save(session), List.of());
+    }
+
+    public AttachmentUploadSessionDTO getSession(Long ticketId, String uploadId) {
+        AttachmentUploadSessionModel session = findSession(ticketId, uploadId);
+        return toDTO(session, chunkRepository.findChunkIndexes(uploadId));
+    }
+
+    /**
+     * Writes one chunk at its offset. The body must be exactly the chunk's length and match
+     * the given SHA-256; a chunk may be re-sent, the last write wins.
+     */
+    public void putChunk(Long ticketId, String uploadId, int index, String sha256, InputStream content) {
+        String expected = normalizeSha256(sha256, "Chunk checksum");
+        if (expected == null) {
+            throw new HltCustomerException(ErrorCode.MISSING_REQUIRED_FIELD, "Chunk checksum is required");
+        }
+        findSession(ticketId, uploadId);
+        ReadWriteLock lock = lockFor(uploadId);
+        lock.readLock().lock();
+        try {
+            // Re-read under the lock: a commit or discard may have finished while this request waited
+            AttachmentUploadSessionModel session = sessionRepository.findByIdAndTicketId(uploadId, ticketId).orElse(null);
+            if (session == null) {
+                sessionLocks.remove(uploadId, lock);
+                throw new HltCustomerException(ErrorCode.FILE_NOT_FOUND, "Upload not found: " + uploadId);
+            }
+            if (session.getStatus() != AttachmentUploadSessionModel.Status.OPEN) {
+                throw new HltCustomerException(ErrorCode.INVALID_INPUT, "Upload is being committed");
+            }
+            if (index < 0 || index >= session.getChunkCount()) {
+                throw new HltCustomerException(ErrorCode.INVALID_INPUT, "Chunk index out of range: " + index);
+            }
+            // The chunk's bytes are about to change; it counts as received again only once they verify
+            chunkRepository.deleteChunk(uploadId, index);
+            writeChunk(session, index, expected, content);
+            chunkRepository.record(uploadId, index, expected, Instant.now());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void writeChunk(AttachmentUploadSessionModel session, int index, String expected, InputStream content) {
+        String uploadId = session.getId();
+        long offset = (long) index * session.getChunkSize();
+        long length = Math.min(session.getChunkSize(), session.getTotalSize() - offset);
+
+        MessageDigest digest = AttachmentBlobStore.sha256();
+        long written = 0;
+        ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        try (ReadableByteChannel source = Channels.newChannel(content);
+             FileChannel target = FileChannel.open(uploadFile(uploadId), StandardOpenOption.WRITE)) {
+            while (source.read(buffer) != -1) {
+                buffer.flip();
+                if (written + buffer.remaining() > length) {
+                    throw new HltCustomerException(ErrorCode.INVALID_INPUT,
+                            "Chunk " + index + " is larger than " + length + " bytes");
+                }
+                buffer.mark();
+                digest.update(buffer);
+                buffer.reset();
+                while (buffer.hasRemaining()) {
+                    written += target.write(buffer, offset + written);
+                }
+                buffer.clear();
+            }
+            if (written != length) {
+                throw new HltCustomerException(ErrorCode.INVALID_INPUT,
+                        "Chunk " + index + " has " + written + " bytes, expected " + length);
+            }
+            target.force(false);
+        } catch (IOException e) {
+            log.error("Attachment uploads: failed to write chunk {} of {}", index, uploadId, e);
+            throw new HltCustomerException(ErrorCode.FILE_UPLOAD_FAILED);
+        }
+
+        if (!expected.equals(HexFormat.of().formatHex(digest.digest()))) {
+            throw new HltCustomerException(ErrorCode.INVALID_INPUT, "Chunk " + index + " checksum mismatch");
+        }
+    }
+
+    public AttachmentDTO commit(Long ticketId, String uploadId) {
+        AttachmentUploadSessionModel session = findSession(ticketId, uploadId);
+        // Claim the session so chunks and a second commit are rejected while the file is hashed
+        ReadWriteLock lock = lockFor(uploadId);
+        lock.writeLock().lock();
+        try {
+            if (sessionRepository.transition(uploadId, AttachmentUploadSessionModel.Status.OPEN,
+                    AttachmentUploadSessionModel.Status.COMMITTING) == 0) {
+                throw new HltCustomerException(ErrorCode.INVALID_INPUT, "Upload is already being committed");
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        AttachmentBlobStore.StoredBlob blob;
+        try {
+            long received = chunkRepository.countByUploadId(uploadId);
+            if (received != session.getChunkCount()) {
+                throw new HltCustomerException(ErrorCode.INVALID_INPUT,
+                        "Upload incomplete: " + received + " of " + session.getChunkCount() + " chunks received");
+            }
+            Path file = uploadFile(uploadId);
+            String hash = hashFile(file);
+            if (session.getExpectedSha256() != null && !session.getExpectedSha256().equals(hash)) {
+                throw new HltCustomerException(ErrorCode.INVALID_INPUT, "File checksum mismatch");
+            }
+            blob = blobStore.adopt(file, hash, session.getTotalSize());
+        } catch (IOException e) {
+            sessionRepository.transition(uploadId, AttachmentUploadSessionModel.Status.COMMITTING,
+                    AttachmentUploadSessionModel.Status.OPEN);
+            log.error("Attachment uploads: failed to commit {}", uploadId, e);
+            throw new HltCustomerException(ErrorCode.FILE_UPLOAD_FAILED);
+        } catch (RuntimeException e) {
+            sessionRepository.transition(uploadId, AttachmentUploadSessionModel.Status.COMMITTING,
+                    AttachmentUploadSessionModel.Status.OPEN);
+            throw e;
+        }
+
+        AttachmentModel saved = transactionTemplate.execute(status -> {
+            AttachmentModel attachment = attachmentService.saveAttachment(ticketId, session.getFileName(),
+                    session.getContentType(), session.getUploadedBy(), blob);
+            chunkRepository.deleteByUploadId(uploadId);
+            sessionRepository.deleteById(uploadId);
+            return attachment;
+        });
+        sessionLocks.remove(uploadId);
+        return attachmentService.toDTO(saved);
+    }
+
+    public void abort(Long ticketId, String uploadId) {
+        findSession(ticketId, uploadId);
+        discard(uploadId);
+    }
+
+    /**
+     * Discards sessions that were not committed within the TTL, including ones left
+     * mid-commit by a crash.
+     */
+    @Scheduled(fixedDelayString = "${attachments.uploads.expire-ms:3600000}", initialDelayString = "${attachments.uploads.expire-ms:3600000}")
+    public void expire() {
+        List<String> expired = sessionRepository.findIdsCreatedBefore(Instant.now().minusMillis(ttlMillis));
+        for (String uploadId : expired) {
+            try {
+                discard(uploadId);
+            } catch (RuntimeException e) {
+                log.error("Attachment uploads: failed to discard expired upload {}", uploadId, e);
+            }
+        }
+        if (!expired.isEmpty()) {
+            log.info("Attachment uploads: discarded {} expired upload(s)", expired.size());
+        }
+    }
+
+    private void discard(String uploadId) {
+        ReadWriteLock lock = lockFor(uploadId);
+        lock.writeLock().lock();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                chunkRepository.deleteByUploadId(uploadId);
+                sessionRepository.deleteById(uploadId);
+            });
+            deleteQuietly(uploadFile(uploadId));
+        } finally {
+            lock.writeLock().unlock();
+        }
+        sessionLocks.remove(uploadId);
+    }
+
+    private ReadWriteLock lockFor(String uploadId) {
+        return sessionLocks.computeIfAbsent(uploadId, id -> new ReentrantReadWriteLock());
+    }
+
+    private AttachmentUploadSessionModel findSession(Long ticketId, String uploadId) {
+        return sessionRepository.findByIdAndTicketId(uploadId, ticketId)
+                .orElseThrow(() -> new HltCustomerException(ErrorCode.FILE_NOT_FOUND, "Upload not found: " + uploadId));
+    }
+
+    private Path uploadFile(String uploadId) {
+        // uploadId is always a server-generated UUID; reject anything else before touching the filesystem
+        try {
+            return uploadDir.resolve(UUID.fromString(uploadId) + ".part");
+        } catch (IllegalArgumentException e) {
+            throw new HltCustomerException(ErrorCode.FILE_NOT_FOUND, "Upload not found: " + uploadId);
+        }
+    }
+
+    private static String hashFile(Path file) throws IOException {
+        MessageDigest digest = AttachmentBlobStore.sha256();
+        ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            while (channel.read(buffer) != -1) {
+                buffer.flip();
+                digest.update(buffer);
+                buffer.clear();
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static String normalizeSha256(String value, String name) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        String hex = value.trim().toLowerCase(Locale.ROOT);
+        if (!SHA256_HEX.matcher(hex).matches()) {
+            throw new HltCustomerException(ErrorCode.INVALID_INPUT, name + " must be a hex SHA-256");
+        }
+        return hex;
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Attachment uploads: cannot delete {}", file, e);
+        }
+    }
+
+    private AttachmentUploadSessionDTO toDTO(AttachmentUploadSessionModel session, List<Integer> receivedChunks) {
+        return AttachmentUploadSessionDTO.builder()
+                .uploadId(session.getId())
+                .ticketId(session.getTicketId())
+                .fileName(session.getFileName())
+                .totalSize(session.getTotalSize())
+                .chunkSize(session.getChunkSize())
+                .chunkCount(session.getChunkCount())
+                .receivedChunks(receivedChunks)
+                .status(session.getStatus().name())
+                .createdAt(session.getCreatedAt())
+                .expiresAt(session.getCreatedAt() != null ? session.getCreatedAt().plusMillis(ttlMillis) : null)
+                .build();
+    }
+}
@@ -11,10 +11,15 @@ import com.its.commonservice.exception.HltCustomerException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Comparator;
+import java.util.List;
+
 @Slf4j
 @Service
 @RequiredArgsConstructor
@@ -23,6 +28,7 @@ public class CategoryServiceImpl implements CategoryService {
 
     private final CategoryRepository categoryRepository;
     private final CategoryPopulator categoryPopulator;
+    private final CategoryTreeCache categoryTreeCache;
 
     @Override
     public CategoryDTO createCategory(CategoryDTO dto) {
@@ -35,6 +41,7 @@ public class CategoryServiceImpl implements CategoryService {
         CategoryModel model = new CategoryModel();
         categoryPopulator.populate(dto, model);
         categoryRepository.save(model);
+        categoryTreeCache.refreshAfterCommit(model.getOrganizationId());
 
         CategoryDTO result = new CategoryDTO();
         categoryPopulator.populate(model, result);
@@ -49,8 +56,10 @@ public class CategoryServiceImpl implements CategoryService {
         CategoryModel model = categoryRepository.findById(id)
                 .orElseThrow(() -> new HltCustomerException(ErrorCode.CATEGORY_NOT_FOUND));
 
+        Long previousOrganizationId = model.getOrganizationId();
         categoryPopulator.populate(dto, model);
         categoryRepository.save(model);
+        categoryTreeCache.refreshAfterCommit(previousOrganizationId, model.getOrganizationId());
 
         CategoryDTO result = new CategoryDTO();
         categoryPopulator.populate(model, result);
@@ -77,12 +86,14 @@ public class CategoryServiceImpl implements CategoryService {
         log.info("Fetching all categories for organizationId={} page={} size={}",
                 orgId, pageable.getPageNumber(), pageable.getPageSize());
 
-        return categoryRepository.findByOrganizationId(orgId, pageable)
-                .map(model -> {
-                    CategoryDTO dto = new CategoryDTO();
-                    categoryPopulator.populate(model, dto);
-                    return dto;
-                });
+        // Served from the cached tree instead of loading each category's subcategories separately
+        List<CategoryDTO> categories = categoryTreeCache.get(orgId).categories();
+        if (pageable.getSort().isSorted()) {
+            categories.sort(comparator(pageable.getSort()));
+        }
+        int from = (int) Math.min(pageable.getOffset(), categories.size());
+        int to = Math.min(from + pageable.getPageSize(), categories.size());
+        return new PageImpl<>(categories.subList(from, to), pageable, categories.size());
     }
 
     @Override
@@ -93,6 +104,33 @@ public class CategoryServiceImpl implements CategoryService {
                 .orElseThrow(() -> new HltCustomerException(ErrorCode.CATEGORY_NOT_FOUND));
 
         categoryRepository.delete(model);
+        categoryTreeCache.refreshAfterCommit(model.getOrganizationId());
         log.info("Category deleted successfully id={}", id);
     }
+
+    /**
+     * Orders cached categories the way the database would for the same Sort: strings
+     * case-insensitively and nulls first when ascending.
+     */
+    private static Comparator<CategoryDTO> comparator(Sort sort) {
+        Comparator<CategoryDTO> result = null;
+        for (Sort.Order order : sort) {
+            Comparator<CategoryDTO> next = switch (order.getProperty()) {
+                case "id" -> Comparator.comparing(CategoryDTO::getId, Comparator.nullsFirst(Comparator.naturalOrder()));
+                case "name" -> Comparator.comparing(CategoryDTO::getName, Comparator.nullsFirst(String.CASE_INSENSITIVE_ORDER));
+                case "description" -> Comparator.comparing(CategoryDTO::getDescription,
+                        Comparator.nullsFirst(String.CASE_INSENSITIVE_ORDER));
+                case "active" -> Comparator.comparing(CategoryDTO::getActive, Comparator.nullsFirst(Comparator.naturalOrder()));
+                case "organizationId" -> Comparator.comparing(CategoryDTO::getOrganizationId,
+                        Comparator.nullsFirst(Comparator.naturalOrder()));
+                default -> throw new HltCustomerException(ErrorCode.INVALID_INPUT,
+                        "Cannot sort categories by " + order.getProperty());
+            };
+            if (order.isDescending()) {
+                next = next.reversed();
+            }
+            result = result == null ? next : result.thenComparing(next);
+        }
+        return result;
+    }
 }
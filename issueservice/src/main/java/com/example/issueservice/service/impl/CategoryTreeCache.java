@@ -0,0 +1,275 @@
+package com.example.issueservice.service.impl;
+
+import com.example.issueservice.model.CategoryModel;
+import com.example.issueservice.model.SubCategoryModel;
+import com.example.issueservice.populator.CategoryPopulator;
+import com.example.issueservice.populator.SubCategoryPopulator;
+import com.example.issueservice.repository.CategoryRepository;
+import com.its.common.dto.CategoryDTO;
+import com.its.common.dto.SubCategoryDTO;
+import com.its.commonservice.util.TransactionUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Per-organization snapshots of the category tree (categories with their subcategories),
+ * each loaded with one fetch-joined query.
+ *
+ * A snapshot is never modified once built: category and subcategory writes rebuild the
+ * organization's tree after commit and swap it in, so readers see either the old or the new
+ * tree. Trees are built outside the map's atomic operations, so a slow query never blocks
+ * other organizations; each build is numbered when it starts and a build never replaces a
+ * tree from a later one. The version is a hash of the tree's content, so it is stable across restarts and
+ * instances and doubles as the ETag. Cached trees are also rebuilt periodically to pick up
+ * writes made by other instances.
+ *
+ * The cached DTOs never leave this class: every read returns copies, so callers are free to
+ * modify what they get. Organizations without categories are not cached, so reads for
+ * arbitrary organization ids cannot grow the map. Subcategory listings are served from the
+ * tree of the category's organization, found through an index of category ids.
+ */
+@Slf4j
+@Component
+public class CategoryTreeCache {
+
+    private static final Comparator<CategoryDTO> CATEGORY_ORDER = Comparator
+            .comparing(CategoryDTO::getName, Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER))
+            .thenComparing(CategoryDTO::getId);
+
+    private static final Comparator<SubCategoryDTO> SUBCATEGORY_ORDER = Comparator
+            .comparing(SubCategoryDTO::getName, Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER))
+            .thenComparing(SubCategoryDTO::getId);
+
+    /**
+     * One organization's category tree. Reads return copies of the cached DTOs.
+     */
+    public static final class Snapshot {
+        private final Long organizationId;
+        private final String version;
+        private final List<CategoryDTO> tree;
+        private final Map<Long, CategoryDTO> byId;
+
+        private Snapshot(Long organizationId, String version, List<CategoryDTO> tree) {
+            this.organizationId = organizationId;
+            this.version = version;
+            this.tree = tree;
+            this.byId = tree.stream().collect(Collectors.toUnmodifiableMap(CategoryDTO::getId, category -> category));
+        }
+
+        public Long organizationId() {
+            return organizationId;
+        }
+
+        public String version() {
+            return version;
+        }
+
+        public String etag() {
+            return "\"" + version + "\"";
+        }
+
+        public List<CategoryDTO> categories() {
+            List<CategoryDTO> copies = new ArrayList<>(tree.size());
+            for (CategoryDTO category : tree) {
+                copies.add(new CategoryDTO(category.getId(), category.getOrganizationId(), category.getName(),
+                        category.getDescription(), category.getActive(), copy(category.getSubCategories())));
+            }
+            return copies;
+        }
+
+        /**
+         * The category's subcategories, or empty when the category is not in this tree.
+         */
+        public Optional<List<SubCategoryDTO>> subCategories(Long categoryId) {
+            CategoryDTO category = byId.get(categoryId);
+            return category != null ? Optional.of(copy(category.getSubCategories())) : Optional.empty();
+        }
+
+        private static List<SubCategoryDTO> copy(List<SubCategoryDTO> subCategories) {
+            List<SubCategoryDTO> copies = new ArrayList<>(subCategories.size());
+            for (SubCategoryDTO sub : subCategories) {
+                copies.add(new SubCategoryDTO(sub.getId(), sub.getName(), sub.getCategoryId(), sub.getDescription(),
+                        sub.getActive()));
+            }
+            return copies;
+        }
+    }
+
+    private record Built(long sequence, Snapshot snapshot) {
+    }
+
+    private final CategoryRepository categoryRepository;
+    private final CategoryPopulator categoryPopulator;
+    private final SubCategoryPopulator subCategoryPopulator;
+    private final TransactionTemplate readTemplate;
+
+    private final Map<Long, Built> snapshots = new ConcurrentHashMap<>();
+    // Category id to the organization whose cached tree holds it. May be stale; always checked against the tree.
+    private final Map<Long, Long> organizationByCategory = new ConcurrentHashMap<>();
+    private final AtomicLong builds = new AtomicLong();
+
+    public CategoryTreeCache(CategoryRepository categoryRepository,
+                             CategoryPopulator categoryPopulator,
+                             SubCategoryPopulator subCategoryPopulator,
+                             PlatformTransactionManager transactionManager) {
+        this.categoryRepository = categoryRepository;
+        this.categoryPopulator = categoryPopulator;
+        this.subCategoryPopulator = subCategoryPopulator;
+        // A fresh persistence context, so a rebuild after commit does not see the writer's
+        // cached entities and collections
+        this.readTemplate = new TransactionTemplate(transactionManager);
+        this.readTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.readTemplate.setReadOnly(true);
+    }
+
+    public Snapshot get(Long organizationId) {
+        Built built = snapshots.get(organizationId);
+        if (built != null) {
+            return built.snapshot();
+        }
+        return refresh(organizationId);
+    }
+
+    /**
+     * A category's subcategories from its organization's tree, or an empty list when the
+     * category does not exist. Only a category not found through the index costs a query.
+     */
+    public List<SubCategoryDTO> subCategories(Long categoryId) {
+        Long organizationId = organizationByCategory.get(categoryId);
+        if (organizationId != null) {
+            Optional<List<SubCategoryDTO>> cached = get(organizationId).subCategories(categoryId);
+            if (cached.isPresent()) {
+                return cached.get();
+            }
+        }
+        // Not cached yet, or the category moved to another organization or was deleted
+        return categoryRepository.findOrganizationIdById(categoryId)
+                .flatMap(id -> get(id).subCategories(categoryId))
+                .orElseGet(ArrayList::new);
+    }
+
+    /**
+     * Rebuilds the given organizations' trees once the surrounding transaction commits.
+     * A failed rebuild drops the cached tree, so the next read loads it again; the write
+     * itself has already committed and is not failed.
+     */
+    public void refreshAfterCommit(Long... organizationIds) {
+        Runnable action = () -> {
+            for (Long organizationId : organizationIds) {
+                if (organizationId == null) {
+                    continue;
+                }
+                try {
+                    refresh(organizationId);
+                } catch (RuntimeException e) {
+                    snapshots.remove(organizationId);
+                    log.error("Category tree: refresh after commit failed for organization {}", organizationId, e);
+                }
+            }
+        };
+        TransactionUtils.afterCommit(action);
+    }
+
+    @Scheduled(fixedDelayString = "${categories.tree.refresh-ms:300000}", initialDelayString = "${categories.tree.refresh-ms:300000}")
+    public void refreshAll() {
+        for (Long organizationId : List.copyOf(snapshots.keySet())) {
+            try {
+                refresh(organizationId);
+            } catch (RuntimeException e) {
+                log.error("Category tree: refresh failed for organization {}", organizationId, e);
+            }
+        }
+    }
+
+    private Snapshot refresh(Long organizationId) {
+        long sequence = builds.incrementAndGet();
+        Snapshot snapshot = build(organizationId);
+        // Readers keep getting the previous tree until the swap; an older build that finishes late loses
+        Built result = snapshots.compute(organizationId, (id, current) -> {
+            if (current != null && current.sequence() > sequence) {
+                return current;
+            }
+            reindex(organizationId, current != null ? current.snapshot() : null, snapshot);
+            return snapshot.tree.isEmpty() ? null : new Built(sequence, snapshot);
+        });
+        return result != null ? result.snapshot() : snapshot;
+    }
+
+    private void reindex(Long organizationId, Snapshot previous, Snapshot next) {
+        if (previous != null) {
+            for (Long categoryId : previous.byId.keySet()) {
+                if (!next.byId.containsKey(categoryId)) {
+                    organizationByCategory.remove(categoryId, organizationId);
+                }
+            }
+        }
+        for (Long categoryId : next.byId.keySet()) {
+            organizationByCategory.put(categoryId, organizationId);
+        }
+    }
+
+    private Snapshot build(Long organizationId) {
+        return readTemplate.execute(status -> load(organizationId));
+    }
+
+    private Snapshot load(Long organizationId) {
+        List<CategoryDTO> categories = new ArrayList<>();
+        for (CategoryModel model : categoryRepository.findTreeByOrganizationId(organizationId)) {
+            CategoryDTO category = new CategoryDTO();
+            categoryPopulator.populate(model, category);
+            List<SubCategoryDTO> subCategories = new ArrayList<>(model.getSubCategories().size());
+            for (SubCategoryModel subModel : model.getSubCategories()) {
+                SubCategoryDTO subCategory = new SubCategoryDTO();
+                subCategoryPopulator.populate(subModel, subCategory);
+                subCategories.add(subCategory);
+            }
+            subCategories.sort(SUBCATEGORY_ORDER);
+            category.setSubCategories(List.copyOf(subCategories));
+            categories.add(category);
+        }
+        categories.sort(CATEGORY_ORDER);
+        return new Snapshot(organizationId, version(categories), List.copyOf(categories));
+    }
+
+    private static String version(List<CategoryDTO> categories) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+        for (CategoryDTO category : categories) {
+            update(digest, "c", category.getId(), category.getName(), category.getDescription(), category.getActive());
+            for (SubCategoryDTO subCategory : category.getSubCategories()) {
+                update(digest, "s", subCategory.getId(), subCategory.getName(), subCategory.getDescription(),
+                        subCategory.getActive());
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest(), 0, 16);
+    }
+
+    private static void update(MessageDigest digest, Object... fields) {
+        for (Object field : fields) {
+            digest.update(Objects.toString(field, "\u0000").getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0x1f);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.issueservice.service.impl;
+
+import com.example.issueservice.client.UserGroupClient;
+import com.its.common.dto.UserGroupDTO;
+import com.its.commonservice.dto.StandardResponse;
+import com.its.commonservice.enums.TicketPriority;
+import com.its.commonservice.exception.ErrorCode;
+import com.its.commonservice.exception.HltCustomerException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Local (projectId, priority) → support group routing table used by auto-assignment.
+ * Entries are loaded from userservice on first use and kept for routing.cache.ttl-ms;
+ * userservice evicts a project's entries when one of its groups is created, changed or
+ * deleted, or gains or loses a member.
+ */
+@Service
+public class GroupRoutingCache {
+
+    public record Route(Long groupId, Long groupLeadId, List<Long> memberIds) {
+    }
+
+    private record Key(Long projectId, TicketPriority priority) {
+    }
+
+    private record Entry(Route route, long expiresAt) {
+    }
+
+    private final UserGroupClient userGroupClient;
+    private final long ttlMs;
+    private final Map<Key, Entry> routes = new ConcurrentHashMap<>();
+
+    public GroupRoutingCache(UserGroupClient userGroupClient,
+                             @Value("${routing.cache.ttl-ms:600000}") long ttlMs) {
+        this.userGroupClient = userGroupClient;
+        this.ttlMs = ttlMs;
+    }
+
+    public boolean isCached(Long projectId, TicketPriority priority) {
+        Entry entry = routes.get(new Key(projectId, priority));
+        return entry != null && entry.expiresAt() > System.currentTimeMillis();
+    }
+
+    /**
+     * The group handling the project's tickets of this priority, from the table or userservice.
+     */
+    public Route resolve(Long projectId, TicketPriority priority) {
+        Key key = new Key(projectId, priority);
+        Entry entry = routes.get(key);
+        if (entry != null && entry.expiresAt() > System.currentTimeMillis()) {
+            return entry.route();
+        }
+
+        StandardResponse<UserGroupDTO> response = userGroupClient.getGroupsByProjectAndPriority(projectId, priority);
+        UserGroupDTO group = response != null ? response.getData() : null;
+        if (group == null) {
+            throw new HltCustomerException(ErrorCode.GROUP_NOT_FOUND_FOR_PROJECT);
+        }
+        Long leadId = group.getGroupLead() != null ? group.getGroupLead().getId() : null;
+        List<Long> memberIds = group.getMemberIds() != null ? List.copyOf(group.getMemberIds()) : List.of();
+        Route route = new Route(group.getId(), leadId, memberIds);
+        routes.put(key, new Entry(route, System.currentTimeMillis() + ttlMs));
+        return route;
+    }
+
+    public void evictProject(Long projectId) {
+        routes.keySet().removeIf(key -> key.projectId().equals(projectId));
+    }
+}
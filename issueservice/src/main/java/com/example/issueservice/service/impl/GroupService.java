@@ -46,14 +46,14 @@ public class GroupService {
         
         log.info("Group created successfully with ID: {}", group.getId());
         
-        return buildGroupDTO(group);
+        return buildGroupDTO(group, 0);
     }
 
     @Transactional(readOnly = true)
     public List<GroupDTO> getOrganizationGroups(Long orgId) {
-        return groupRepository.findByOrganizationId(orgId)
+        return groupRepository.findWithMemberCountByOrganizationId(orgId)
             .stream()
-            .map(this::buildGroupDTO)
+            .map(row -> buildGroupDTO((GroupModel) row[0], ((Long) row[1]).intValue()))
             .collect(Collectors.toList());
     }
 
@@ -91,7 +91,7 @@ public class GroupService {
         log.info("User {} removed from group {} successfully", userId, groupId);
     }
 
-    private GroupDTO buildGroupDTO(GroupModel group) {
+    private GroupDTO buildGroupDTO(GroupModel group, int memberCount) {
         return GroupDTO.builder()
             .id(group.getId())
             .organizationId(group.getOrganizationId())
@@ -100,7 +100,7 @@ public class GroupService {
             .level(group.getLevel())
             .active(group.getActive())
             .createdAt(group.getCreatedAt())
-            .memberCount(group.getMembers() != null ? group.getMembers().size() : 0)
+            .memberCount(memberCount)
             .build();
     }
 }
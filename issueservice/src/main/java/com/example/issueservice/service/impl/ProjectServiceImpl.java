@@ -10,21 +10,28 @@ import com.example.issueservice.utils.ProjectCodeGenerator;
 import com.its.common.dto.ProjectDTO;
 import com.its.common.dto.UserDTO;
 import com.its.common.dto.ProjectStatsDTO;
+import com.its.common.dto.TicketCountsDTO;
+import com.its.commonservice.enums.ERole;
 import com.its.commonservice.enums.ProjectStatus;
 import com.its.commonservice.enums.SlaTier;
 import com.its.commonservice.exception.ErrorCode;
 import com.its.commonservice.exception.HltCustomerException;
+import com.its.commonservice.security.JwtPrincipal;
+import com.its.commonservice.util.SecurityUtils;
 import lombok.AllArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.sql.Date;
 import java.time.LocalDateTime;
+import java.util.EnumMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.Objects;
 
 @Service
 @Transactional
@@ -35,17 +42,21 @@ public class ProjectServiceImpl implements ProjectService {
     private final ProjectPopulator projectPopulator;
     private final ProjectCodeGenerator projectCodeGenerator;
     private final UserClient userClient;
+    private final TicketCounterService ticketCounterService;
+    private final ProjectStatsCache projectStatsCache;
+    private final GroupRoutingCache groupRoutingCache;
 
 
     @Override
     @Transactional
     public ProjectDTO saveOrUpdateProject(ProjectDTO projectDTO) {
         ProjectModel model;
+        ProjectStatus previousStatus = null;
 
         if (projectDTO.getId() == null) {
             model = new ProjectModel();
 
-            model.setProjectCode(generateUniqueProjectCode(projectDTO.getName()));
+            model.setProjectCode(projectCodeGenerator.generateCode(projectDTO.getName()));
             model.setCreatedAt(LocalDateTime.now());
             model.setUpdatedAt(LocalDateTime.now());
 
@@ -58,18 +69,24 @@ public class ProjectServiceImpl implements ProjectService {
                     && projectRepository.existsByProjectCode(projectDTO.getProjectCode())) {
                 throw new HltCustomerException(ErrorCode.PROJECT_ALREADY_REGISTERED);
             }
+            previousStatus = model.getStatus();
         }
+        Long previousOwnerOrg = model.getOwnerOrganizationId();
+        Long previousClientOrg = model.getClientOrganizationId();
 
         mapDtoToModel(projectDTO, model);
 
         ProjectModel saved = projectRepository.save(model);
+        if (projectDTO.getId() == null || previousStatus != saved.getStatus()
+                || !Objects.equals(previousOwnerOrg, saved.getOwnerOrganizationId())
+                || !Objects.equals(previousClientOrg, saved.getClientOrganizationId())) {
+            projectStatsCache.invalidate(previousOwnerOrg, previousClientOrg,
+                    saved.getOwnerOrganizationId(), saved.getClientOrganizationId());
+        }
 
         return projectPopulator.toDTO(saved);
     }
 
-
-
-
     @Override
     public ProjectDTO getProjectById(Long projectId) {
         ProjectModel model = projectRepository.findById(projectId)
@@ -80,9 +97,7 @@ public class ProjectServiceImpl implements ProjectService {
     @Override
     public Page<ProjectDTO> fetchProjectsWithFilters(Pageable pageable, Long projectId, Long clientId, Long managerId, String status) {
         Page<ProjectModel> page = fetchProjectsWithFilter(pageable, projectId, clientId, managerId, status);
-        List<ProjectDTO> dtos = page.getContent().stream()
-                .map(projectPopulator::toDTO)
-                .collect(Collectors.toList());
+        List<ProjectDTO> dtos = projectPopulator.toDTOs(page.getContent());
         return new PageImpl<>(dtos, pageable, page.getTotalElements());
     }
 
@@ -92,29 +107,77 @@ public class ProjectServiceImpl implements ProjectService {
         ProjectModel model = projectRepository.findById(projectId)
                 .orElseThrow(() -> new HltCustomerException(ErrorCode.BUSINESS_NOT_FOUND));
         projectRepository.delete(model);
+        projectStatsCache.invalidate(model.getOwnerOrganizationId(), model.getClientOrganizationId());
     }
 
     @Override
     public Page<ProjectDTO> getProjectsForOrganization(Long organizationId, Pageable pageable) {
         Page<ProjectModel> projectsPage = projectRepository.findByOrganization(organizationId, pageable);
 
-        List<ProjectDTO> dtos = projectsPage.getContent().stream()
-                .map(projectPopulator::toDTO)
-                .collect(Collectors.toList());
+        List<ProjectDTO> dtos = projectPopulator.toDTOs(projectsPage.getContent());
 
         return new PageImpl<>(dtos, pageable, projectsPage.getTotalElements());
     }
 
+    /**
+     * Stats for the projects the caller's organization owns or is the client of. Super admins
+     * may ask for any organization, or for all projects by passing none. Runs outside a
+     * transaction, so callers waiting on a load already in flight do not hold a connection.
+     */
     @Override
-    public ProjectStatsDTO getProjectStats() {
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ProjectStatsDTO getProjectStats(Long organizationId) {
+        Long orgId = statsOrganization(organizationId);
+        return projectStatsCache.get(orgId, () -> loadProjectStats(orgId));
+    }
+
+    private static Long statsOrganization(Long requested) {
+        JwtPrincipal principal = SecurityUtils.getCurrentPrincipal()
+                .orElseThrow(() -> new HltCustomerException(ErrorCode.UNAUTHORIZED));
+        if (principal.getRoles() != null && principal.getRoles().contains(ERole.ROLE_SUPER_ADMIN.name())) {
+            return requested;
+        }
+        if (principal.getOrgId() == null || (requested != null && !requested.equals(principal.getOrgId()))) {
+            throw new HltCustomerException(ErrorCode.FORBIDDEN);
+        }
+        return principal.getOrgId();
+    }
+
+    private ProjectStatsDTO loadProjectStats(Long organizationId) {
+        List<Object[]> rows = organizationId != null
+                ? projectRepository.countByStatusForOrganization(organizationId)
+                : projectRepository.countAllByStatus();
+        Map<ProjectStatus, Long> byStatus = new EnumMap<>(ProjectStatus.class);
+        long total = 0;
+        for (Object[] row : rows) {
+            long count = ((Number) row[1]).longValue();
+            if (row[0] != null) {
+                byStatus.put(ProjectStatus.valueOf((String) row[0]), count);
+            }
+            total += count;
+        }
         return ProjectStatsDTO.builder()
-                .totalProjects(projectRepository.countAllProjects())
-                .activeProjects(projectRepository.countActiveProjects())
-                .completedProjects(projectRepository.countCompletedProjects())
-                .onHoldProjects(projectRepository.countOnHoldProjects())
+                .totalProjects(total)
+                .activeProjects(byStatus.getOrDefault(ProjectStatus.IN_PROGRESS, 0L))
+                .completedProjects(byStatus.getOrDefault(ProjectStatus.COMPLETED, 0L))
+                .onHoldProjects(byStatus.getOrDefault(ProjectStatus.ON_HOLD, 0L))
                 .build();
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public TicketCountsDTO getTicketCounts(Long projectId) {
+        if (!projectRepository.existsById(projectId)) {
+            throw new HltCustomerException(ErrorCode.PROJECT_NOT_FOUND);
+        }
+        return ticketCounterService.getCounts(projectId);
+    }
+
+    @Override
+    public void evictGroupRouting(Long projectId) {
+        groupRoutingCache.evictProject(projectId);
+    }
+
 
     private ProjectModel mapDtoToModel(ProjectDTO dto, ProjectModel model) {
 
@@ -203,22 +266,4 @@ public class ProjectServiceImpl implements ProjectService {
             return projectRepository.findAll(pageable);
         }
     }
-
-
-    private String generateUniqueProjectCode(String projectName) {
-        final int MAX_RETRIES = 5;
-
-        for (int i = 0; i < MAX_RETRIES; i++) {
-            String candidate = projectCodeGenerator.generateCode(projectName);
-            boolean exists = projectRepository.existsByProjectCode(candidate);
-
-            if (!exists) {
-                return candidate;
-            }
-        }
-
-        throw new HltCustomerException(ErrorCode.PROJECT_CODE_GENERATION_FAILED);
-    }
-
-
 }
@@ -0,0 +1,92 @@
+package com.example.issueservice.service.impl;
+
+import com.its.common.dto.ProjectStatsDTO;
+import com.its.commonservice.util.TransactionUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Short-lived per-organization snapshots of project statistics, so dashboard polling is
+ * served from memory. Entries expire after projects.stats.ttl-ms and are dropped when a
+ * project in the organization is created, deleted or changes status.
+ *
+ * A key is loaded by one caller at a time: callers arriving while a load is in flight wait
+ * for its result instead of running the same query again.
+ */
+@Component
+public class ProjectStatsCache {
+
+    // Key for stats across all organizations
+    private static final Long ALL_ORGANIZATIONS = -1L;
+
+    private final long ttlMs;
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+
+    public ProjectStatsCache(@Value("${projects.stats.ttl-ms:30000}") long ttlMs) {
+        this.ttlMs = ttlMs;
+    }
+
+    public ProjectStatsDTO get(Long organizationId, Supplier<ProjectStatsDTO> loader) {
+        Long key = organizationId != null ? organizationId : ALL_ORGANIZATIONS;
+        Entry cached = entries.get(key);
+        if (cached != null && cached.isExpired()) {
+            entries.remove(key, cached);
+        }
+
+        CompletableFuture<ProjectStatsDTO> loading = new CompletableFuture<>();
+        Entry entry = entries.computeIfAbsent(key, k -> new Entry(loading));
+        if (entry.stats == loading) {
+            try {
+                ProjectStatsDTO stats = loader.get();
+                entry.expiresAt = System.currentTimeMillis() + ttlMs;
+                loading.complete(stats);
+            } catch (RuntimeException e) {
+                entries.remove(key, entry);
+                loading.completeExceptionally(e);
+                throw e;
+            }
+        }
+        try {
+            return entry.stats.join();
+        } catch (CompletionException e) {
+            // The loading caller already failed with this exception; waiters get the same one
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+
+    /**
+     * Drops the given organizations' snapshots (and the all-organizations one) once the
+     * surrounding transaction commits.
+     */
+    public void invalidate(Long... organizationIds) {
+        Runnable action = () -> {
+            entries.remove(ALL_ORGANIZATIONS);
+            for (Long organizationId : organizationIds) {
+                if (organizationId != null) {
+                    entries.remove(organizationId);
+                }
+            }
+        };
+        TransactionUtils.afterCommit(action);
+    }
+
+    private static final class Entry {
+        private final CompletableFuture<ProjectStatsDTO> stats;
+        // Set when the load completes; an entry still loading never expires
+        private volatile long expiresAt = Long.MAX_VALUE;
+
+        private Entry(CompletableFuture<ProjectStatsDTO> stats) {
+            this.stats = stats;
+        }
+
+        private boolean isExpired() {
+            return expiresAt <= System.currentTimeMillis();
+        }
+    }
+}
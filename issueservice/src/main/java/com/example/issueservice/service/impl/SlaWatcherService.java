@@ -1,53 +1,299 @@
-//package com.example.issueservice.service.impl;
-//
-//import com.example.issueservice.model.TicketHistoryModel;
-//import com.example.issueservice.model.TicketModel;
-//import com.example.issueservice.repository.TicketHistoryRepository;
-//import com.example.issueservice.repository.TicketRepository;
-//import lombok.RequiredArgsConstructor;
-//import lombok.extern.slf4j.Slf4j;
-//import org.springframework.scheduling.annotation.Scheduled;
-//import org.springframework.stereotype.Service;
-//import org.springframework.transaction.annotation.Transactional;
-//
-//import java.time.Instant;
-//import java.util.List;
-//
-//@Slf4j
-//@Service
-//@RequiredArgsConstructor
-//public class SlaWatcherService {
-//
-//    private final TicketRepository ticketRepository;
-//    private final TicketHistoryRepository historyRepository;
-//
-//    @Scheduled(fixedDelayString = "${sla.watcher.delay-ms:60000}")
-//    @Transactional
-//    public void checkSlaBreaches() {
-//        Instant now = Instant.now();
-//        List<TicketModel> overdue = ticketRepository.findOverdueSlaTickets(now);
-//        if (overdue.isEmpty()) {
-//            return;
-//        }
-//        log.info("SLA Watcher: found {} overdue ticket(s)", overdue.size());
-//        for (TicketModel t : overdue) {
-//            if (Boolean.TRUE.equals(t.getSlaBreached())) {
-//                continue;
-//            }
-//            t.setSlaBreached(true);
-//            if (t.getSlaBreachedAt() == null) {
-//                t.setSlaBreachedAt(now);
-//            }
-//            ticketRepository.save(t);
-//
-//            TicketHistoryModel history = new TicketHistoryModel();
-//            history.setTicket(t);
-//            history.setChangedBy(0L); // system
-//            history.setFieldName("SLA");
-//            history.setOldValue("ON_TIME");
-//            history.setNewValue("BREACHED");
-//            history.setChangeDescription("SLA breached at " + now);
-//            historyRepository.save(history);
-//        }
-//    }
-//}
+package com.example.issueservice.service.impl;
+
+import com.example.issueservice.model.TicketModel;
+import com.example.issueservice.repository.TicketRepository;
+import com.its.commonservice.enums.SlaTier;
+import com.its.commonservice.enums.TicketPriority;
+import com.its.commonservice.enums.TicketStatus;
+import com.its.commonservice.util.TransactionUtils;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SLA engine: keeps the resolution deadline of every open ticket in an in-memory
+ * priority queue and marks breaches on a sub-second tick, writing breach flags and
+ * ticket_history rows in JDBC batches. The queue is rebuilt from idx_ticket_sla_due
+ * on startup and topped up periodically with deadlines set by other instances.
+ * Deadlines are wall-clock from ticket creation; business-hours calendars are not applied.
+ *
+ * The tick runs on a thread of its own rather than Spring's shared scheduler, so slow
+ * scheduled jobs elsewhere cannot hold it up. Open tickets created before deadlines were
+ * stored get one on startup.
+ */
+@Slf4j
+@Service
+public class SlaWatcherService {
+
+    private static final Long SYSTEM_USER_ID = 0L;
+
+    private static final Set<TicketStatus> TERMINAL_STATUSES =
+            EnumSet.of(TicketStatus.RESOLVED, TicketStatus.CLOSED, TicketStatus.CANCELLED);
+
+    private static final Map<SlaTier, Map<TicketPriority, Duration>> RESOLUTION_TARGETS = new EnumMap<>(SlaTier.class);
+
+    static {
+        RESOLUTION_TARGETS.put(SlaTier.ENTERPRISE, targets(2, 4, 8, 24));
+        RESOLUTION_TARGETS.put(SlaTier.PREMIUM, targets(4, 8, 24, 48));
+        RESOLUTION_TARGETS.put(SlaTier.STANDARD, targets(8, 24, 48, 72));
+    }
+
+    private static final String MARK_BREACHED_SQL =
+            "UPDATE tickets SET sla_breached = true, sla_breached_at = ? WHERE id = ? AND sla_breached = false "
+                    + "AND sla_due_at IS NOT NULL AND sla_due_at <= ?";
+
+    private static final int BACKFILL_CHUNK = 1000;
+
+    private static final String BACKFILL_SELECT_SQL = "SELECT t.id, t.created_at, t.priority, p.sla_tier "
+            + "FROM tickets t JOIN projects p ON p.id = t.project_id "
+            + "WHERE t.sla_due_at IS NULL AND (t.sla_breached IS NULL OR t.sla_breached = false) "
+            + "AND t.status NOT IN ('RESOLVED', 'CLOSED', 'CANCELLED') LIMIT ?";
+
+    private static final String BACKFILL_UPDATE_SQL =
+            "UPDATE tickets SET sla_due_at = ? WHERE id = ? AND sla_due_at IS NULL";
+
+    private static final String INSERT_HISTORY_SQL = "INSERT INTO ticket_history "
+            + "(ticket_id, changed_by, field_name, old_value, new_value, change_description, created_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private final TicketRepository ticketRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final long resyncMs;
+    private final long tickMs;
+    private final ScheduledExecutorService ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "sla-watcher");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Both guarded by "this". The map holds the current deadline per ticket; queue entries
+    // that no longer match it are stale and skipped when they reach the head.
+    private final PriorityQueue<Deadline> queue = new PriorityQueue<>();
+    private final Map<Long, Long> deadlines = new HashMap<>();
+
+    public SlaWatcherService(TicketRepository ticketRepository,
+                             JdbcTemplate jdbcTemplate,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${sla.watcher.resync-ms:300000}") long resyncMs,
+                             @Value("${sla.watcher.tick-ms:250}") long tickMs) {
+        this.ticketRepository = ticketRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.resyncMs = resyncMs;
+        this.tickMs = tickMs;
+    }
+
+    public static boolean isTerminal(TicketStatus status) {
+        return status != null && TERMINAL_STATUSES.contains(status);
+    }
+
+    public static LocalDateTime computeDeadline(LocalDateTime createdAt, SlaTier tier, TicketPriority priority) {
+        Map<TicketPriority, Duration> targets = RESOLUTION_TARGETS.get(tier != null ? tier : SlaTier.STANDARD);
+        Duration target = targets.get(priority != null ? priority : TicketPriority.LOW);
+        return (createdAt != null ? createdAt : LocalDateTime.now()).plus(target);
+    }
+
+    /**
+     * Sets slaDueAt on a ticket about to be saved. Closed tickets lose their deadline;
+     * already breached tickets keep theirs.
+     */
+    public void applyDeadline(TicketModel ticket) {
+        if (isTerminal(ticket.getStatus())) {
+            ticket.setSlaDueAt(null);
+            return;
+        }
+        if (Boolean.TRUE.equals(ticket.getSlaBreached())) {
+            return;
+        }
+        SlaTier tier = ticket.getProject() != null ? ticket.getProject().getSlaTier() : null;
+        ticket.setSlaDueAt(computeDeadline(ticket.getCreatedAt(), tier, ticket.getPriority()));
+    }
+
+    /**
+     * Schedules (or unschedules) a saved ticket once the surrounding transaction commits.
+     */
+    public void track(TicketModel ticket) {
+        Long ticketId = ticket.getId();
+        LocalDateTime dueAt = Boolean.TRUE.equals(ticket.getSlaBreached()) ? null : ticket.getSlaDueAt();
+        TransactionUtils.afterCommit(() -> schedule(ticketId, dueAt));
+    }
+
+    public void untrack(Long ticketId) {
+        TransactionUtils.afterCommit(() -> schedule(ticketId, null));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        ticker.scheduleWithFixedDelay(this::tick, tickMs, tickMs, TimeUnit.MILLISECONDS);
+        backfillDeadlines();
+        List<Object[]> pending = ticketRepository.findPendingSlaDeadlines();
+        pending.forEach(row -> schedule((Long) row[0], (LocalDateTime) row[1]));
+        log.info("SLA Watcher: tracking {} open ticket deadline(s)", pending.size());
+    }
+
+    @PreDestroy
+    public void stop() {
+        ticker.shutdownNow();
+    }
+
+    /**
+     * Gives open tickets that predate stored deadlines their deadline, in chunks. Idempotent:
+     * once every open ticket has one, this is a single empty index range read.
+     */
+    void backfillDeadlines() {
+        int filled = 0;
+        while (true) {
+            List<Object[]> updates = jdbcTemplate.query(BACKFILL_SELECT_SQL, (rs, rowNum) -> {
+                String tier = rs.getString("sla_tier");
+                String priority = rs.getString("priority");
+                LocalDateTime dueAt = computeDeadline(rs.getTimestamp("created_at").toLocalDateTime(),
+                        tier != null ? SlaTier.valueOf(tier) : null,
+                        priority != null ? TicketPriority.valueOf(priority) : null);
+                return new Object[]{Timestamp.valueOf(dueAt), rs.getLong("id")};
+            }, BACKFILL_CHUNK);
+            if (updates.isEmpty()) {
+                break;
+            }
+            jdbcTemplate.batchUpdate(BACKFILL_UPDATE_SQL, updates);
+            filled += updates.size();
+        }
+        if (filled > 0) {
+            log.info("SLA Watcher: backfilled deadlines for {} open ticket(s)", filled);
+        }
+    }
+
+    /**
+     * Picks up deadlines written by other instances (or by bulk import) that fall due soon.
+     */
+    @Scheduled(fixedDelayString = "${sla.watcher.resync-ms:300000}", initialDelayString = "${sla.watcher.resync-ms:300000}")
+    public void resync() {
+        LocalDateTime horizon = LocalDateTime.now().plus(Duration.ofMillis(resyncMs * 2));
+        ticketRepository.findPendingSlaDeadlinesBefore(horizon)
+                .forEach(row -> schedule((Long) row[0], (LocalDateTime) row[1]));
+    }
+
+    private void tick() {
+        try {
+            checkSlaBreaches();
+        } catch (RuntimeException e) {
+            // An exception escaping a scheduled task would cancel all further ticks
+            log.error("SLA Watcher: tick failed", e);
+        }
+    }
+
+    void checkSlaBreaches() {
+        List<Deadline> due = pollDue(System.currentTimeMillis());
+        if (due.isEmpty()) {
+            return;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        Timestamp breachedAt = Timestamp.valueOf(now);
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                List<Object[]> updates = new ArrayList<>(due.size());
+                for (Deadline deadline : due) {
+                    updates.add(new Object[]{breachedAt, deadline.ticketId, breachedAt});
+                }
+                int[] counts = jdbcTemplate.batchUpdate(MARK_BREACHED_SQL, updates);
+
+                List<Object[]> history = new ArrayList<>(due.size());
+                for (int i = 0; i < counts.length; i++) {
+                    // Skip tickets another instance already marked; negative counts mean "unknown"
+                    if (counts[i] != 0) {
+                        history.add(new Object[]{due.get(i).ticketId, SYSTEM_USER_ID, "SLA", "ON_TIME", "BREACHED",
+                                "SLA breached at " + now, breachedAt});
+                    }
+                }
+                if (!history.isEmpty()) {
+                    jdbcTemplate.batchUpdate(INSERT_HISTORY_SQL, history);
+                }
+            });
+            log.info("SLA Watcher: marked {} ticket(s) as breached", due.size());
+        } catch (RuntimeException e) {
+            log.error("SLA Watcher: failed to record {} breach(es), will retry", due.size(), e);
+            synchronized (this) {
+                for (Deadline deadline : due) {
+                    deadlines.putIfAbsent(deadline.ticketId, deadline.dueAtMillis);
+                    queue.add(deadline);
+                }
+            }
+        }
+    }
+
+    private synchronized List<Deadline> pollDue(long nowMillis) {
+        List<Deadline> due = new ArrayList<>();
+        while (!queue.isEmpty() && queue.peek().dueAtMillis <= nowMillis) {
+            Deadline head = queue.poll();
+            Long current = deadlines.get(head.ticketId);
+            if (current != null && current == head.dueAtMillis) {
+                deadlines.remove(head.ticketId);
+                due.add(head);
+            }
+        }
+        return due;
+    }
+
+    private synchronized void schedule(Long ticketId, LocalDateTime dueAt) {
+        if (ticketId == null) {
+            return;
+        }
+        if (dueAt == null) {
+            deadlines.remove(ticketId);
+            return;
+        }
+        long dueAtMillis = dueAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        Long previous = deadlines.put(ticketId, dueAtMillis);
+        if (previous == null || previous != dueAtMillis) {
+            queue.add(new Deadline(ticketId, dueAtMillis));
+        }
+    }
+
+    private static Map<TicketPriority, Duration> targets(long criticalHours, long highHours, long mediumHours, long lowHours) {
+        Map<TicketPriority, Duration> targets = new EnumMap<>(TicketPriority.class);
+        targets.put(TicketPriority.CRITICAL, Duration.ofHours(criticalHours));
+        targets.put(TicketPriority.HIGH, Duration.ofHours(highHours));
+        targets.put(TicketPriority.MEDIUM, Duration.ofHours(mediumHours));
+        targets.put(TicketPriority.LOW, Duration.ofHours(lowHours));
+        return targets;
+    }
+
+    private static final class Deadline implements Comparable<Deadline> {
+        private final Long ticketId;
+        private final long dueAtMillis;
+
+        private Deadline(Long ticketId, long dueAtMillis) {
+            this.ticketId = ticketId;
+            this.dueAtMillis = dueAtMillis;
+        }
+
+        @Override
+        public int compareTo(Deadline other) {
+            return Long.compare(dueAtMillis, other.dueAtMillis);
+        }
+    }
+}
@@ -13,10 +13,15 @@ import com.its.commonservice.exception.HltCustomerException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Comparator;
+import java.util.List;
+
 @Slf4j
 @Service
 @RequiredArgsConstructor
@@ -26,6 +31,7 @@ public class SubCategoryServiceImpl implements SubCategoryService {
     private final SubCategoryRepository subCategoryRepository;
     private final CategoryRepository categoryRepository;
     private final SubCategoryPopulator subCategoryPopulator;
+    private final CategoryTreeCache categoryTreeCache;
 
     @Override
     public SubCategoryDTO createSubCategory(SubCategoryDTO dto) {
@@ -39,6 +45,7 @@ public class SubCategoryServiceImpl implements SubCategoryService {
         SubCategoryModel model = new SubCategoryModel();
         subCategoryPopulator.populate(dto, model, category);
         subCategoryRepository.save(model);
+        categoryTreeCache.refreshAfterCommit(category.getOrganizationId());
 
         SubCategoryDTO result = new SubCategoryDTO();
         subCategoryPopulator.populate(model, result);
@@ -53,8 +60,10 @@ public class SubCategoryServiceImpl implements SubCategoryService {
         CategoryModel category = categoryRepository.findById(dto.getCategoryId())
                 .orElseThrow(() -> new HltCustomerException(ErrorCode.CATEGORY_NOT_FOUND));
 
+        Long previousOrganizationId = model.getCategory().getOrganizationId();
         subCategoryPopulator.populate(dto, model, category);
         subCategoryRepository.save(model);
+        categoryTreeCache.refreshAfterCommit(previousOrganizationId, category.getOrganizationId());
 
         SubCategoryDTO result = new SubCategoryDTO();
         subCategoryPopulator.populate(model, result);
@@ -72,13 +81,16 @@ public class SubCategoryServiceImpl implements SubCategoryService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Page<SubCategoryDTO> getAllSubCategories(Long categoryId, Pageable pageable) {
-        return subCategoryRepository.findByCategoryId(categoryId, pageable)
-                .map(model -> {
-                    SubCategoryDTO dto = new SubCategoryDTO();
-                    subCategoryPopulator.populate(model, dto);
-                    return dto;
-                });
+        // Served from the cached category tree of the category's organization
+        List<SubCategoryDTO> subCategories = categoryTreeCache.subCategories(categoryId);
+        if (pageable.getSort().isSorted()) {
+            subCategories.sort(comparator(pageable.getSort()));
+        }
+        int from = (int) Math.min(pageable.getOffset(), subCategories.size());
+        int to = Math.min(from + pageable.getPageSize(), subCategories.size());
+        return new PageImpl<>(subCategories.subList(from, to), pageable, subCategories.size());
     }
 
     @Override
@@ -86,5 +98,32 @@ public class SubCategoryServiceImpl implements SubCategoryService {
         SubCategoryModel model = subCategoryRepository.findById(id)
                 .orElseThrow(() -> new HltCustomerException(ErrorCode.SUBCATEGORY_NOT_FOUND));
         subCategoryRepository.delete(model);
+        categoryTreeCache.refreshAfterCommit(model.getCategory().getOrganizationId());
+    }
+
+    /**
+     * Orders cached subcategories the way the database would for the same Sort: strings
+     * case-insensitively and nulls first when ascending.
+     */
+    private static Comparator<SubCategoryDTO> comparator(Sort sort) {
+        Comparator<SubCategoryDTO> result = null;
+        for (Sort.Order order : sort) {
+            Comparator<SubCategoryDTO> next = switch (order.getProperty()) {
+                case "id" -> Comparator.comparing(SubCategoryDTO::getId, Comparator.nullsFirst(Comparator.naturalOrder()));
+                case "name" -> Comparator.comparing(SubCategoryDTO::getName, Comparator.nullsFirst(String.CASE_INSENSITIVE_ORDER));
+                case "description" -> Comparator.comparing(SubCategoryDTO::getDescription,
+                        Comparator.nullsFirst(String.CASE_INSENSITIVE_ORDER));
+                case "active" -> Comparator.comparing(SubCategoryDTO::getActive, Comparator.nullsFirst(Comparator.naturalOrder()));
+                case "categoryId" -> Comparator.comparing(SubCategoryDTO::getCategoryId,
+                        Comparator.nullsFirst(Comparator.naturalOrder()));
+                default -> throw new HltCustomerException(ErrorCode.INVALID_INPUT,
+                        "Cannot sort subcategories by " + order.getProperty());
+            };
+            if (order.isDescending()) {
+                next = next.reversed();
+            }
+            result = result == null ? next : result.thenComparing(next);
+        }
+        return result;
     }
 }
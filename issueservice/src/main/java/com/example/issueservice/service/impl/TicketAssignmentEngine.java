@@ -0,0 +1,196 @@
+package com.example.issueservice.service.impl;
+
+import com.its.commonservice.enums.TicketStatus;
+import com.its.commonservice.util.TransactionUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Chooses who inside a support group gets an auto-assigned ticket.
+ *
+ * LEAD always picks the group lead (the previous behaviour), ROUND_ROBIN rotates through
+ * the members, and LEAST_OPEN picks the member with the fewest open tickets, rotating
+ * between ties. Open-ticket counts per assignee are held in memory: loaded with one
+ * grouped query at startup, adjusted after each committed assignment or status change,
+ * and periodically resynced to pick up other instances' writes. Picking never queries
+ * the database. Groups without members fall back to the lead.
+ *
+ * A pick made inside a transaction counts against the chosen user straight away, so
+ * concurrent creates spread out instead of all choosing the same least-loaded member.
+ * The reservation is released if the transaction rolls back, or if it commits without
+ * assigning the ticket to that user; when it does, {@link #moved} does not count the
+ * assignment a second time.
+ */
+@Slf4j
+@Service
+public class TicketAssignmentEngine {
+
+    public enum Strategy { LEAD, ROUND_ROBIN, LEAST_OPEN }
+
+    private static final String OPEN_COUNTS_SQL = "SELECT assigned_to, COUNT(*) FROM tickets "
+            + "WHERE assigned_to IS NOT NULL AND status NOT IN ('RESOLVED', 'CLOSED', 'CANCELLED') "
+            + "GROUP BY assigned_to";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Strategy strategy;
+    private final Map<Long, AtomicLong> openTickets = new ConcurrentHashMap<>();
+    private final Map<Long, AtomicInteger> cursors = new ConcurrentHashMap<>();
+    // Transaction resource key for the picks made in the current transaction
+    private final Object reservationsKey = new Object();
+
+    public TicketAssignmentEngine(JdbcTemplate jdbcTemplate,
+                                  @Value("${assignment.strategy:LEAST_OPEN}") Strategy strategy) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.strategy = strategy;
+    }
+
+    /**
+     * The user to assign a ticket routed to this group, or null when the group has neither
+     * members nor a lead.
+     */
+    public Long pick(GroupRoutingCache.Route route) {
+        Long picked = choose(route);
+        if (picked != null) {
+            reserve(picked);
+        }
+        return picked;
+    }
+
+    private Long choose(GroupRoutingCache.Route route) {
+        List<Long> members = route.memberIds();
+        if (strategy == Strategy.LEAD || members == null || members.isEmpty()) {
+            return route.groupLeadId();
+        }
+
+        int start = Math.floorMod(cursors.computeIfAbsent(route.groupId(), id -> new AtomicInteger())
+                .getAndIncrement(), members.size());
+        if (strategy == Strategy.ROUND_ROBIN) {
+            return members.get(start);
+        }
+
+        Long best = null;
+        long bestLoad = Long.MAX_VALUE;
+        for (int i = 0; i < members.size(); i++) {
+            Long candidate = members.get((start + i) % members.size());
+            long load = openCount(candidate);
+            if (load < bestLoad) {
+                best = candidate;
+                bestLoad = load;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Records a ticket moving between (assignee, status) states once the transaction commits.
+     * Pass nulls for the "from" side when the ticket is new and for the "to" side when deleted.
+     */
+    public void moved(Long fromAssignee, TicketStatus fromStatus, Long toAssignee, TicketStatus toStatus) {
+        Long decrement = fromAssignee != null && isOpen(fromStatus) ? fromAssignee : null;
+        Long increment = toAssignee != null && isOpen(toStatus) ? toAssignee : null;
+        if (Objects.equals(decrement, increment)) {
+            return;
+        }
+        // An assignment made by pick() in this transaction is already counted
+        Long unreserved = increment != null && claimReservation(increment) ? null : increment;
+        if (decrement == null && unreserved == null) {
+            return;
+        }
+        TransactionUtils.afterCommit(() -> {
+            if (decrement != null) {
+                release(decrement);
+            }
+            if (unreserved != null) {
+                openTickets.computeIfAbsent(unreserved, id -> new AtomicLong()).incrementAndGet();
+            }
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        resync();
+    }
+
+    @Scheduled(fixedDelayString = "${assignment.open-counts.resync-ms:300000}", initialDelayString = "${assignment.open-counts.resync-ms:300000}")
+    public void resync() {
+        Map<Long, Long> counts = new HashMap<>();
+        jdbcTemplate.query(OPEN_COUNTS_SQL, rs -> {
+            counts.put(rs.getLong(1), rs.getLong(2));
+        });
+        openTickets.keySet().retainAll(counts.keySet());
+        counts.forEach((userId, count) -> openTickets.computeIfAbsent(userId, id -> new AtomicLong()).set(count));
+        log.debug("Assignment engine: loaded open ticket counts for {} assignee(s)", counts.size());
+    }
+
+    /**
+     * Counts a pick against the user now. Outside a transaction there is nothing to undo,
+     * so the count is left to {@link #moved}.
+     */
+    private void reserve(Long userId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        Reservations reservations = (Reservations) TransactionSynchronizationManager.getResource(reservationsKey);
+        if (reservations == null) {
+            Reservations created = new Reservations();
+            TransactionSynchronizationManager.bindResource(reservationsKey, created);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(reservationsKey);
+                    List<Long> undo = status == STATUS_COMMITTED ? created.unclaimed : created.held;
+                    undo.forEach(TicketAssignmentEngine.this::release);
+                }
+            });
+            reservations = created;
+        }
+        openTickets.computeIfAbsent(userId, id -> new AtomicLong()).incrementAndGet();
+        reservations.held.add(userId);
+        reservations.unclaimed.add(userId);
+    }
+
+    private boolean claimReservation(Long userId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return false;
+        }
+        Reservations reservations = (Reservations) TransactionSynchronizationManager.getResource(reservationsKey);
+        return reservations != null && reservations.unclaimed.remove(userId);
+    }
+
+    private void release(Long userId) {
+        AtomicLong count = openTickets.get(userId);
+        if (count != null) {
+            count.updateAndGet(n -> Math.max(0, n - 1));
+        }
+    }
+
+    private long openCount(Long userId) {
+        AtomicLong count = openTickets.get(userId);
+        return count != null ? count.get() : 0;
+    }
+
+    private static boolean isOpen(TicketStatus status) {
+        return status != null && !SlaWatcherService.isTerminal(status);
+    }
+
+    private static final class Reservations {
+        private final List<Long> held = new ArrayList<>();
+        private final List<Long> unclaimed = new ArrayList<>();
+    }
+}
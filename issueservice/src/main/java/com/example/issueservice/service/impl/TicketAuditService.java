@@ -0,0 +1,258 @@
+package com.example.issueservice.service.impl;
+
+import com.example.issueservice.model.TicketModel;
+import com.its.commonservice.util.SecurityUtils;
+import com.its.commonservice.util.TransactionUtils;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Field-level audit trail for tickets. Callers snapshot a ticket before changing it and
+ * hand the saved ticket back afterwards; each changed field becomes a ticket_history row.
+ *
+ * In ASYNC mode (default) rows are queued after commit and written in JDBC batches by a
+ * background thread; when the queue is full the caller writes its own rows. In SYNC mode
+ * rows are written immediately, inside the caller's transaction.
+ *
+ * Async history is best-effort: the writer retries a failed batch with backoff, then falls
+ * back to single rows so that one bad row (typically a ticket deleted after its change was
+ * queued) does not take the rest with it. Rows that still cannot be written are logged and
+ * dropped, as are rows queued when the process dies. Use SYNC where history must be exact.
+ */
+@Slf4j
+@Service
+public class TicketAuditService {
+
+    public enum Mode { ASYNC, SYNC }
+
+    private static final Long SYSTEM_USER_ID = 0L;
+
+    private static final String INSERT_HISTORY_SQL = "INSERT INTO ticket_history "
+            + "(ticket_id, changed_by, field_name, old_value, new_value, change_description, created_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Mode mode;
+    private final int batchSize;
+    private final int retryAttempts;
+    private final long retryBackoffMs;
+    private final BlockingQueue<Object[]> queue;
+    private volatile boolean running;
+    private Thread writer;
+
+    public TicketAuditService(JdbcTemplate jdbcTemplate,
+                              @Value("${audit.mode:ASYNC}") Mode mode,
+                              @Value("${audit.queue-capacity:10000}") int queueCapacity,
+                              @Value("${audit.batch-size:200}") int batchSize,
+                              @Value("${audit.retry-attempts:5}") int retryAttempts,
+                              @Value("${audit.retry-backoff-ms:200}") long retryBackoffMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.mode = mode;
+        this.batchSize = batchSize;
+        this.retryAttempts = Math.max(1, retryAttempts);
+        this.retryBackoffMs = retryBackoffMs;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+    }
+
+    /**
+     * Captures the audited fields of a ticket as strings, in a stable order.
+     */
+    public Map<String, String> snapshot(TicketModel ticket) {
+        Map<String, String> fields = new LinkedHashMap<>();
+        fields.put("title", ticket.getTitle());
+        fields.put("description", ticket.getDescription());
+        fields.put("status", str(ticket.getStatus()));
+        fields.put("priority", str(ticket.getPriority()));
+        fields.put("impact", str(ticket.getImpact()));
+        fields.put("urgency", str(ticket.getUrgency()));
+        fields.put("issueType", str(ticket.getIssueType()));
+        fields.put("projectId", ticket.getProject() != null ? str(ticket.getProject().getId()) : null);
+        fields.put("assignedToId", str(ticket.getAssignedToId()));
+        fields.put("groupId", str(ticket.getGroupId()));
+        fields.put("dueDate", str(ticket.getDueDate()));
+        fields.put("archived", str(ticket.getArchived()));
+        return fields;
+    }
+
+    /**
+     * Records the difference between a snapshot and the saved ticket. A null snapshot means
+     * the ticket was just created and produces a single creation row.
+     */
+    public void recordChanges(TicketModel saved, Map<String, String> before) {
+        Long changedBy = SecurityUtils.getCurrentUserId();
+        Object[] base = {saved.getId(), changedBy != null ? changedBy : SYSTEM_USER_ID};
+        // ticket_history is read as UTC, matching how Hibernate writes TicketHistoryModel.createdAt
+        LocalDateTime now = LocalDateTime.ofInstant(Instant.now(), ZoneOffset.UTC);
+
+        List<Object[]> rows = new ArrayList<>();
+        if (before == null) {
+            rows.add(row(base, "ticket", null, saved.getTicketId(), "Ticket created", now));
+        } else {
+            Map<String, String> after = snapshot(saved);
+            for (Map.Entry<String, String> field : after.entrySet()) {
+                String oldValue = before.get(field.getKey());
+                if (!Objects.equals(oldValue, field.getValue())) {
+                    rows.add(row(base, field.getKey(), oldValue, field.getValue(),
+                            field.getKey() + " changed", now));
+                }
+            }
+        }
+        if (rows.isEmpty()) {
+            return;
+        }
+
+        if (mode == Mode.SYNC) {
+            jdbcTemplate.batchUpdate(INSERT_HISTORY_SQL, rows);
+        } else {
+            TransactionUtils.afterCommit(() -> enqueue(rows));
+        }
+    }
+
+    @PostConstruct
+    public void start() {
+        if (mode != Mode.ASYNC) {
+            return;
+        }
+        running = true;
+        writer = new Thread(this::drainLoop, "ticket-audit-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        if (writer != null) {
+            writer.interrupt();
+            writer.join(TimeUnit.SECONDS.toMillis(5));
+        }
+        // Flush whatever is still queued before the datasource goes away
+        List<Object[]> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        write(remaining);
+    }
+
+    private void enqueue(List<Object[]> rows) {
+        List<Object[]> overflow = null;
+        for (Object[] row : rows) {
+            if (!queue.offer(row)) {
+                if (overflow == null) {
+                    overflow = new ArrayList<>();
+                }
+                overflow.add(row);
+            }
+        }
+        if (overflow != null) {
+            // Queue full: write on the caller rather than drop audit rows
+            write(overflow);
+        }
+    }
+
+    private void drainLoop() {
+        List<Object[]> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                Object[] first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                writeWithRetry(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Writer-thread path: retries the batch with exponential backoff before giving up on it.
+     */
+    private void writeWithRetry(List<Object[]> rows) throws InterruptedException {
+        long backoff = retryBackoffMs;
+        for (int attempt = 1; attempt < retryAttempts; attempt++) {
+            try {
+                insert(rows);
+                return;
+            } catch (DataIntegrityViolationException e) {
+                writeEach(rows);
+                return;
+            } catch (RuntimeException e) {
+                log.warn("Ticket audit: writing {} history row(s) failed (attempt {} of {}), retrying in {} ms",
+                        rows.size(), attempt, retryAttempts, backoff, e);
+            }
+            try {
+                Thread.sleep(backoff);
+            } catch (InterruptedException e) {
+                // Shutting down: hand the rows back so stop() flushes them
+                rows.forEach(queue::offer);
+                throw e;
+            }
+            backoff *= 2;
+        }
+        write(rows);
+    }
+
+    private void write(List<Object[]> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        try {
+            insert(rows);
+        } catch (DataIntegrityViolationException e) {
+            writeEach(rows);
+        } catch (RuntimeException e) {
+            log.error("Ticket audit: dropped {} history row(s)", rows.size(), e);
+        }
+    }
+
+    /**
+     * Writes rows one at a time, dropping only those that violate a constraint.
+     */
+    private void writeEach(List<Object[]> rows) {
+        int dropped = 0;
+        for (Object[] row : rows) {
+            try {
+                jdbcTemplate.update(INSERT_HISTORY_SQL, row);
+            } catch (RuntimeException e) {
+                dropped++;
+                log.debug("Ticket audit: dropped history row for ticket {}", row[0], e);
+            }
+        }
+        if (dropped > 0) {
+            log.warn("Ticket audit: dropped {} of {} history row(s) that could not be written", dropped, rows.size());
+        }
+    }
+
+    private void insert(List<Object[]> rows) {
+        jdbcTemplate.batchUpdate(INSERT_HISTORY_SQL, rows);
+    }
+
+    private Object[] row(Object[] base, String field, String oldValue, String newValue, String description, LocalDateTime at) {
+        return new Object[]{base[0], base[1], field, oldValue, newValue, description, at};
+    }
+
+    private static String str(Object value) {
+        return value != null ? value.toString() : null;
+    }
+}
@@ -0,0 +1,302 @@
+package com.example.issueservice.service.impl;
+
+import com.example.issueservice.model.TicketModel;
+import com.its.common.dto.TicketCountsDTO;
+import com.its.commonservice.enums.TicketPriority;
+import com.its.commonservice.enums.TicketStatus;
+import com.its.commonservice.util.TransactionUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Per-project ticket counts by (status, priority).
+ *
+ * Each bucket is split over a few shard rows in ticket_counter_shards, and a write adjusts
+ * one shard picked at random, so concurrent creates in one bucket do not queue on a single
+ * hot row; a bucket's count is the sum of its shards. Ticket writes adjust the shards inside
+ * their own transaction and, after commit, the in-memory mirror of any project already loaded.
+ *
+ * A reconciliation job reads the counters and recounts the tickets from one consistent
+ * snapshot, without locking any rows, and adds the difference to the counters. Because the
+ * correction is an increment it commutes with ticket writes made meanwhile. The mirror is
+ * then dropped so that writes made by other instances are picked up. Only one instance
+ * reconciles at a time: a run holds a MySQL named lock and is skipped when another
+ * instance holds it, since two runs would both add the same correction.
+ */
+@Slf4j
+@Service
+public class TicketCounterService {
+
+    private static final TicketStatus[] STATUSES = TicketStatus.values();
+    private static final TicketPriority[] PRIORITIES = TicketPriority.values();
+    private static final int SLOTS = STATUSES.length * PRIORITIES.length;
+
+    private static final String ADJUST_SQL = "INSERT INTO ticket_counter_shards "
+            + "(project_id, status, priority, shard, ticket_count) VALUES (?, ?, ?, ?, ?) "
+            + "ON DUPLICATE KEY UPDATE ticket_count = ticket_count + VALUES(ticket_count)";
+
+    private static final String LOAD_SQL = "SELECT status, priority, SUM(ticket_count) AS ticket_count "
+            + "FROM ticket_counter_shards WHERE project_id = ? GROUP BY status, priority";
+
+    private static final String RECOUNT_SQL =
+            "SELECT status, priority, COUNT(*) AS ticket_count FROM tickets WHERE project_id = ? GROUP BY status, priority";
+
+    private static final String RECONCILE_LOCK = "ticket_counter_reconcile";
+
+    private static final String PROJECTS_SQL = "SELECT DISTINCT project_id FROM tickets WHERE project_id IS NOT NULL "
+            + "UNION SELECT DISTINCT project_id FROM ticket_counter_shards";
+
+    /**
+     * The counter a ticket contributes to. Null when the ticket lacks a project, status or priority.
+     */
+    public record Bucket(Long projectId, TicketStatus status, TicketPriority priority) {
+
+        public static Bucket of(TicketModel ticket) {
+            Long projectId = ticket.getProject() != null ? ticket.getProject().getId() : null;
+            if (projectId == null || ticket.getStatus() == null || ticket.getPriority() == null) {
+                return null;
+            }
+            return new Bucket(projectId, ticket.getStatus(), ticket.getPriority());
+        }
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int shards;
+    private final Map<Long, AtomicLongArray> mirror = new ConcurrentHashMap<>();
+
+    public TicketCounterService(JdbcTemplate jdbcTemplate,
+                                @Value("${tickets.counters.shards:8}") int shards) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.shards = Math.max(1, shards);
+    }
+
+    /**
+     * Moves one ticket from one bucket to another. A null "from" means the ticket was
+     * created, a null "to" that it was deleted. Must run inside the writing transaction.
+     */
+    public void move(Bucket from, Bucket to) {
+        if (Objects.equals(from, to)) {
+            return;
+        }
+        Map<Bucket, Long> deltas = new LinkedHashMap<>();
+        if (from != null) {
+            deltas.merge(from, -1L, Long::sum);
+        }
+        if (to != null) {
+            deltas.merge(to, 1L, Long::sum);
+        }
+        apply(jdbcTemplate, deltas);
+    }
+
+    /**
+     * Counts a batch of newly inserted tickets.
+     */
+    public void addAll(Collection<Bucket> created) {
+        Map<Bucket, Long> deltas = new LinkedHashMap<>();
+        for (Bucket bucket : created) {
+            if (bucket != null) {
+                deltas.merge(bucket, 1L, Long::sum);
+            }
+        }
+        apply(jdbcTemplate, deltas);
+    }
+
+    public TicketCountsDTO getCounts(Long projectId) {
+        AtomicLongArray counts = mirror.computeIfAbsent(projectId, this::load);
+
+        long total = 0;
+        Map<String, Long> byStatus = new LinkedHashMap<>();
+        Map<String, Long> byPriority = new LinkedHashMap<>();
+        Map<String, Map<String, Long>> byStatusAndPriority = new LinkedHashMap<>();
+        for (TicketStatus status : STATUSES) {
+            Map<String, Long> row = new LinkedHashMap<>();
+            long statusTotal = 0;
+            for (TicketPriority priority : PRIORITIES) {
+                long count = counts.get(slot(status, priority));
+                row.put(priority.name(), count);
+                byPriority.merge(priority.name(), count, Long::sum);
+                statusTotal += count;
+            }
+            byStatus.put(status.name(), statusTotal);
+            byStatusAndPriority.put(status.name(), row);
+            total += statusTotal;
+        }
+
+        return TicketCountsDTO.builder()
+                .projectId(projectId)
+                .total(total)
+                .byStatus(byStatus)
+                .byPriority(byPriority)
+                .byStatusAndPriority(byStatusAndPriority)
+                .build();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        reconcile();
+    }
+
+    /**
+     * Recounts every project from the tickets table and corrects counters that drifted.
+     * Does nothing when another instance is already reconciling.
+     */
+    @Scheduled(fixedDelayString = "${tickets.counters.reconcile-ms:300000}", initialDelayString = "${tickets.counters.reconcile-ms:300000}")
+    public void reconcile() {
+        // A named lock belongs to the session that took it, so the lock, the snapshots and
+        // the corrections all run on this one connection
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            Session session = new Session(new SingleConnectionDataSource(connection, true));
+            Integer locked = session.jdbc().queryForObject("SELECT GET_LOCK(?, 0)", Integer.class, RECONCILE_LOCK);
+            if (locked == null || locked != 1) {
+                log.debug("Ticket counters: reconciliation is running on another instance, skipping");
+                return null;
+            }
+            try {
+                reconcile(session);
+            } finally {
+                session.jdbc().queryForObject("SELECT RELEASE_LOCK(?)", Integer.class, RECONCILE_LOCK);
+            }
+            return null;
+        });
+    }
+
+    private void reconcile(Session session) {
+        int repaired = 0;
+        for (Long projectId : session.jdbc().queryForList(PROJECTS_SQL, Long.class)) {
+            try {
+                repaired += reconcileProject(session, projectId);
+            } catch (RuntimeException e) {
+                log.error("Ticket counters: reconciliation failed for project {}", projectId, e);
+            } finally {
+                mirror.remove(projectId);
+            }
+        }
+        if (repaired > 0) {
+            log.warn("Ticket counters: repaired {} drifted counter(s)", repaired);
+        }
+    }
+
+    private int reconcileProject(Session session, Long projectId) {
+        // Ticket writes change tickets and counters in one transaction, so within a single
+        // snapshot the two agree unless the counters drifted
+        Map<Bucket, Long> corrections = session.snapshot().execute(status -> {
+            Map<Integer, Long> stored = new HashMap<>();
+            session.jdbc().query(LOAD_SQL, rs -> {
+                stored.put(slot(rs.getString("status"), rs.getString("priority")), rs.getLong("ticket_count"));
+            }, projectId);
+            Map<Integer, Long> actual = new HashMap<>();
+            session.jdbc().query(RECOUNT_SQL, rs -> {
+                actual.put(slot(rs.getString("status"), rs.getString("priority")), rs.getLong("ticket_count"));
+            }, projectId);
+
+            Set<Integer> slots = new HashSet<>(stored.keySet());
+            slots.addAll(actual.keySet());
+            Map<Bucket, Long> deltas = new LinkedHashMap<>();
+            for (Integer slot : slots) {
+                long delta = actual.getOrDefault(slot, 0L) - stored.getOrDefault(slot, 0L);
+                if (delta != 0) {
+                    deltas.put(new Bucket(projectId, statusOf(slot), priorityOf(slot)), delta);
+                }
+            }
+            return deltas;
+        });
+        if (corrections == null || corrections.isEmpty()) {
+            return 0;
+        }
+        int drifted = corrections.size();
+        session.write().executeWithoutResult(status -> apply(session.jdbc(), corrections));
+        return drifted;
+    }
+
+    private void apply(JdbcTemplate jdbc, Map<Bucket, Long> deltas) {
+        deltas.values().removeIf(delta -> delta == 0);
+        if (deltas.isEmpty()) {
+            return;
+        }
+        // A fixed row order keeps two writers touching the same rows from deadlocking
+        List<Map.Entry<Bucket, Long>> ordered = new ArrayList<>(deltas.entrySet());
+        ordered.sort(Comparator.comparing((Map.Entry<Bucket, Long> e) -> e.getKey().projectId())
+                .thenComparingInt(e -> slot(e.getKey().status(), e.getKey().priority())));
+        int shard = ThreadLocalRandom.current().nextInt(shards);
+        List<Object[]> args = new ArrayList<>(ordered.size());
+        for (Map.Entry<Bucket, Long> entry : ordered) {
+            Bucket bucket = entry.getKey();
+            args.add(new Object[]{bucket.projectId(), bucket.status().name(), bucket.priority().name(), shard, entry.getValue()});
+        }
+        jdbc.batchUpdate(ADJUST_SQL, args);
+
+        TransactionUtils.afterCommit(() -> deltas.forEach((bucket, delta) -> {
+            AtomicLongArray counts = mirror.get(bucket.projectId());
+            if (counts != null) {
+                counts.addAndGet(slot(bucket.status(), bucket.priority()), delta);
+            }
+        }));
+    }
+
+    /**
+     * Templates over the single connection a reconciliation run holds its lock on.
+     */
+    private record Session(JdbcTemplate jdbc, TransactionTemplate snapshot, TransactionTemplate write) {
+
+        private Session(SingleConnectionDataSource dataSource) {
+            this(new JdbcTemplate(dataSource), snapshotTemplate(dataSource),
+                    new TransactionTemplate(new DataSourceTransactionManager(dataSource)));
+        }
+
+        private static TransactionTemplate snapshotTemplate(SingleConnectionDataSource dataSource) {
+            // InnoDB takes one read view per REPEATABLE READ transaction, shared by every plain SELECT in it
+            TransactionTemplate template = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+            template.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+            template.setReadOnly(true);
+            return template;
+        }
+    }
+
+    private AtomicLongArray load(Long projectId) {
+        AtomicLongArray counts = new AtomicLongArray(SLOTS);
+        jdbcTemplate.query(LOAD_SQL, rs -> {
+            counts.set(slot(rs.getString("status"), rs.getString("priority")), rs.getLong("ticket_count"));
+        }, projectId);
+        return counts;
+    }
+
+    private static int slot(TicketStatus status, TicketPriority priority) {
+        return status.ordinal() * PRIORITIES.length + priority.ordinal();
+    }
+
+    private static int slot(String status, String priority) {
+        return slot(TicketStatus.valueOf(status), TicketPriority.valueOf(priority));
+    }
+
+    private static TicketStatus statusOf(int slot) {
+        return STATUSES[slot / PRIORITIES.length];
+    }
+
+    private static TicketPriority priorityOf(int slot) {
+        return PRIORITIES[slot % PRIORITIES.length];
+    }
+}
@@ -0,0 +1,184 @@
+package com.example.issueservice.service.impl;
+
+import com.example.issueservice.model.TicketModel;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.its.common.dto.TicketFilterDTO;
+import com.its.commonservice.exception.ErrorCode;
+import com.its.commonservice.exception.HltCustomerException;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Writes filtered tickets as CSV or NDJSON straight to the response.
+ * Rows are read through a forward-only result stream and detached once written,
+ * so memory use does not grow with the size of the export.
+ */
+@Service
+public class TicketExportService {
+
+    // MySQL Connector/J streams rows one at a time only for this fetch size
+    private static final int STREAMING_FETCH_SIZE = Integer.MIN_VALUE;
+
+    private static final Map<String, Function<TicketModel, Object>> COLUMNS = new LinkedHashMap<>();
+
+    static {
+        COLUMNS.put("id", TicketModel::getId);
+        COLUMNS.put("ticketId", TicketModel::getTicketId);
+        COLUMNS.put("title", TicketModel::getTitle);
+        COLUMNS.put("description", TicketModel::getDescription);
+        COLUMNS.put("priority", TicketModel::getPriority);
+        COLUMNS.put("status", TicketModel::getStatus);
+        COLUMNS.put("projectId", t -> t.getProject() != null ? t.getProject().getId() : null);
+        COLUMNS.put("createdById", TicketModel::getCreatedById);
+        COLUMNS.put("assignedToId", TicketModel::getAssignedToId);
+        COLUMNS.put("groupId", TicketModel::getGroupId);
+        COLUMNS.put("impact", TicketModel::getImpact);
+        COLUMNS.put("urgency", TicketModel::getUrgency);
+        COLUMNS.put("issueType", TicketModel::getIssueType);
+        COLUMNS.put("dueDate", TicketModel::getDueDate);
+        COLUMNS.put("resolvedAt", TicketModel::getResolvedAt);
+        COLUMNS.put("archived", TicketModel::getArchived);
+        COLUMNS.put("createdAt", TicketModel::getCreatedAt);
+        COLUMNS.put("updatedAt", TicketModel::getUpdatedAt);
+    }
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final TransactionTemplate readOnlyTransaction;
+    private final ObjectMapper objectMapper;
+
+    public TicketExportService(PlatformTransactionManager transactionManager, ObjectMapper objectMapper) {
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Validates the request up front and returns a body that streams the rows when written.
+     */
+    public StreamingResponseBody export(TicketFilterDTO filter, String format, List<String> columns) {
+        boolean ndjson = parseFormat(format);
+        List<String> selected = selectColumns(columns);
+        Specification<TicketModel> spec = TicketServiceImpl.buildFilterSpec(filter);
+
+        return out -> readOnlyTransaction.executeWithoutResult(status -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            try (Stream<TicketModel> tickets = openStream(spec)) {
+                if (!ndjson) {
+                    writer.write(String.join(",", selected));
+                    writer.write('\n');
+                }
+                for (TicketModel ticket : (Iterable<TicketModel>) tickets::iterator) {
+                    if (ndjson) {
+                        writeJsonRow(writer, ticket, selected);
+                    } else {
+                        writeCsvRow(writer, ticket, selected);
+                    }
+                    entityManager.detach(ticket);
+                }
+                writer.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    public static String contentType(String format) {
+        return parseFormat(format) ? "application/x-ndjson" : "text/csv";
+    }
+
+    private Stream<TicketModel> openStream(Specification<TicketModel> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TicketModel> query = cb.createQuery(TicketModel.class);
+        Root<TicketModel> root = query.from(TicketModel.class);
+        if (spec != null) {
+            var predicate = spec.toPredicate(root, query, cb);
+            if (predicate != null) {
+                query.where(predicate);
+            }
+        }
+        query.orderBy(cb.asc(root.get("id")));
+
+        return entityManager.createQuery(query)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, STREAMING_FETCH_SIZE)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+
+    private void writeCsvRow(Writer writer, TicketModel ticket, List<String> selected) throws IOException {
+        for (int i = 0; i < selected.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            Object value = COLUMNS.get(selected.get(i)).apply(ticket);
+            if (value != null) {
+                writer.write(csvEscape(value.toString()));
+            }
+        }
+        writer.write('\n');
+    }
+
+    private void writeJsonRow(Writer writer, TicketModel ticket, List<String> selected) throws IOException {
+        Map<String, Object> row = new LinkedHashMap<>();
+        for (String column : selected) {
+            row.put(column, COLUMNS.get(column).apply(ticket));
+        }
+        writer.write(objectMapper.writeValueAsString(row));
+        writer.write('\n');
+    }
+
+    private static String csvEscape(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    private static boolean parseFormat(String format) {
+        if (format == null || format.equalsIgnoreCase("csv")) {
+            return false;
+        }
+        if (format.equalsIgnoreCase("ndjson")) {
+            return true;
+        }
+        throw new HltCustomerException(ErrorCode.BUSINESS_VALIDATION_FAILED, "Invalid export format: " + format);
+    }
+
+    private List<String> selectColumns(List<String> columns) {
+        if (columns == null || columns.isEmpty()) {
+            return new ArrayList<>(COLUMNS.keySet());
+        }
+        List<String> selected = new ArrayList<>(columns.size());
+        for (String column : columns) {
+            String name = column.trim();
+            if (!COLUMNS.containsKey(name)) {
+                throw new HltCustomerException(ErrorCode.BUSINESS_VALIDATION_FAILED, "Unknown export column: " + name);
+            }
+            selected.add(name);
+        }
+        return selected;
+    }
+}
@@ -0,0 +1,604 @@
+package com.example.issueservice.service.impl;
+
+import com.example.issueservice.client.UserClient;
+import com.example.issueservice.client.UserServiceClient;
+import com.example.issueservice.model.ProjectModel;
+import com.example.issueservice.model.TicketModel;
+import com.example.issueservice.repository.ProjectRepository;
+import com.example.issueservice.utils.TicketImportReader;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.its.common.dto.TicketImportErrorDTO;
+import com.its.common.dto.TicketImportStatusDTO;
+import com.its.common.dto.UserDTO;
+import com.its.common.dto.UserGroupDTO;
+import com.its.commonservice.dto.StandardResponse;
+import com.its.commonservice.enums.Impact;
+import com.its.commonservice.enums.IssueType;
+import com.its.commonservice.enums.TicketPriority;
+import com.its.commonservice.enums.TicketStatus;
+import com.its.commonservice.enums.Urgency;
+import com.its.commonservice.exception.ErrorCode;
+import com.its.commonservice.exception.HltCustomerException;
+import com.its.commonservice.util.SecurityUtils;
+import feign.FeignException;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ArgumentPreparedStatementSetter;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Streams tickets from CSV or NDJSON into the TICKETS table in JDBC batches.
+ * The request body is spooled to a temporary file and imported in the background, so the
+ * request returns as soon as the upload is complete; progress is followed by import id.
+ * Rows are read from the file only as fast as batches are written, and invalid
+ * rows are reported individually without aborting the load. Referenced projects,
+ * users and groups are resolved once per import; imported tickets keep the given
+ * assignee and are not auto-assigned.
+ *
+ * A batch that fails to insert is retried row by row, so one bad row is reported on its
+ * own instead of taking its batch down. Imported tickets go through the same hooks as
+ * tickets created through the API: counters, audit history, SLA tracking, search index and
+ * the assignment engine's open-ticket counts.
+ */
+@Slf4j
+@Service
+public class TicketImportService {
+
+    private static final String INSERT_SQL = "INSERT INTO tickets (ticket_id, ticket_number, title, description, "
+            + "priority, status, project_id, created_by_id, assigned_to, due_date, is_archived, group_id, "
+            + "urgency, issue_type, impact, sla_due_at, sla_breached, created_at, updated_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final long FINISHED_JOB_RETENTION_MINUTES = 60;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ProjectRepository projectRepository;
+    private final UserClient userClient;
+    private final UserServiceClient userServiceClient;
+    private final TicketNumberAllocator ticketNumberAllocator;
+    private final TicketCounterService ticketCounterService;
+    private final TicketAuditService ticketAuditService;
+    private final SlaWatcherService slaWatcherService;
+    private final TicketSearchIndex ticketSearchIndex;
+    private final TicketAssignmentEngine ticketAssignmentEngine;
+    private final ObjectMapper objectMapper;
+    private final int batchSize;
+    private final int maxReportedErrors;
+    private final Semaphore importSlots;
+    // One thread per import slot, so an import that got a slot never waits for a thread
+    private final ExecutorService workers;
+
+    private final Map<String, ImportJob> jobs = new ConcurrentHashMap<>();
+
+    public TicketImportService(JdbcTemplate jdbcTemplate,
+                               PlatformTransactionManager transactionManager,
+                               ProjectRepository projectRepository,
+                               UserClient userClient,
+                               UserServiceClient userServiceClient,
+                               TicketNumberAllocator ticketNumberAllocator,
+                               TicketCounterService ticketCounterService,
+                               TicketAuditService ticketAuditService,
+                               SlaWatcherService slaWatcherService,
+                               TicketSearchIndex ticketSearchIndex,
+                               TicketAssignmentEngine ticketAssignmentEngine,
+                               ObjectMapper objectMapper,
+                               @Value("${tickets.import.batch-size:500}") int batchSize,
+                               @Value("${tickets.import.max-reported-errors:1000}") int maxReportedErrors,
+                               @Value("${tickets.import.max-concurrent:2}") int maxConcurrent) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.projectRepository = projectRepository;
+        this.userClient = userClient;
+        this.userServiceClient = userServiceClient;
+        this.ticketNumberAllocator = ticketNumberAllocator;
+        this.ticketCounterService = ticketCounterService;
+        this.ticketAuditService = ticketAuditService;
+        this.slaWatcherService = slaWatcherService;
+        this.ticketSearchIndex = ticketSearchIndex;
+        this.ticketAssignmentEngine = ticketAssignmentEngine;
+        this.objectMapper = objectMapper;
+        this.batchSize = batchSize;
+        this.maxReportedErrors = maxReportedErrors;
+        this.importSlots = new Semaphore(Math.max(1, maxConcurrent));
+        this.workers = Executors.newFixedThreadPool(Math.max(1, maxConcurrent), runnable -> {
+            Thread thread = new Thread(runnable, "ticket-import");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void stop() {
+        workers.shutdownNow();
+    }
+
+    /**
+     * Spools the body and starts importing it in the background. Returns the new import's
+     * status; its server-generated importId is what {@link #getStatus} takes. Fails with
+     * SERVICE_UNAVAILABLE when tickets.import.max-concurrent imports are already spooling or running.
+     */
+    public TicketImportStatusDTO startImport(InputStream in, String contentType) {
+        TicketImportReader.Format format = TicketImportReader.formatOf(contentType);
+        if (!importSlots.tryAcquire()) {
+            throw new HltCustomerException(ErrorCode.SERVICE_UNAVAILABLE, "Too many imports in progress, retry later");
+        }
+        Path spool = null;
+        boolean handedOff = false;
+        try {
+            // Resolved here, while the caller's security context is still available
+            Long createdById = resolveCurrentUserId();
+            spool = Files.createTempFile("ticket-import-", "." + format.name().toLowerCase());
+            Files.copy(in, spool, StandardCopyOption.REPLACE_EXISTING);
+
+            ImportJob job = new ImportJob(UUID.randomUUID().toString());
+            Path file = spool;
+            workers.execute(() -> runSpooled(job, file, format, createdById));
+            // The worker now owns the file and the slot
+            handedOff = true;
+            jobs.put(job.id, job);
+            return job.snapshot();
+        } catch (IOException e) {
+            throw new HltCustomerException(ErrorCode.FILE_UPLOAD_FAILED, "Could not receive import body", e);
+        } finally {
+            if (!handedOff) {
+                if (spool != null) {
+                    deleteSpool(spool);
+                }
+                importSlots.release();
+            }
+        }
+    }
+
+    public TicketImportStatusDTO getStatus(String importId) {
+        ImportJob job = jobs.get(importId);
+        if (job == null) {
+            throw new HltCustomerException(ErrorCode.RESOURCE_NOT_FOUND, "Import not found: " + importId);
+        }
+        return job.snapshot();
+    }
+
+    @Scheduled(fixedDelay = 600_000)
+    public void evictFinishedJobs() {
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(FINISHED_JOB_RETENTION_MINUTES);
+        jobs.values().removeIf(job -> job.finishedAt != null && job.finishedAt.isBefore(cutoff));
+    }
+
+    private void runSpooled(ImportJob job, Path file, TicketImportReader.Format format, Long createdById) {
+        try (InputStream in = Files.newInputStream(file)) {
+            run(job, new TicketImportReader(in, format, objectMapper), createdById);
+        } catch (IOException e) {
+            log.warn("Ticket import {} could not read its spooled input", job.id, e);
+            if (job.finishedAt == null) {
+                job.finish("FAILED");
+            }
+        } catch (RuntimeException e) {
+            // Already logged and marked FAILED by run()
+        } finally {
+            deleteSpool(file);
+            importSlots.release();
+        }
+    }
+
+    private static void deleteSpool(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Ticket import: could not delete spool file {}", file, e);
+        }
+    }
+
+    private void run(ImportJob job, TicketImportReader reader, Long createdById) {
+        ImportContext context = new ImportContext(createdById);
+        List<ImportRow> batch = new ArrayList<>(batchSize);
+        try {
+            while (true) {
+                Map<String, String> values;
+                try {
+                    values = reader.next();
+                } catch (IllegalArgumentException e) {
+                    job.rowsRead.incrementAndGet();
+                    job.reject(reader.row(), e.getMessage());
+                    continue;
+                }
+                if (values == null) {
+                    break;
+                }
+                job.rowsRead.incrementAndGet();
+
+                try {
+                    batch.add(toRow(reader.row(), values, context));
+                } catch (IllegalArgumentException e) {
+                    job.reject(reader.row(), e.getMessage());
+                }
+                if (batch.size() >= batchSize) {
+                    flush(batch, job, context);
+                    batch.clear();
+                }
+            }
+            flush(batch, job, context);
+            job.finish("COMPLETED");
+        } catch (IOException e) {
+            log.warn("Ticket import {} aborted while reading input", job.id, e);
+            job.reject(reader.row(), "Input stream failed: " + e.getMessage());
+            job.finish("FAILED");
+        } catch (RuntimeException e) {
+            log.error("Ticket import {} failed", job.id, e);
+            job.finish("FAILED");
+            throw e;
+        }
+    }
+
+    private ImportRow toRow(long rowNumber, Map<String, String> values, ImportContext context) {
+        ImportRow row = new ImportRow();
+        row.rowNumber = rowNumber;
+        row.title = required(values, "title");
+        if (row.title.length() > 500) {
+            throw new IllegalArgumentException("title exceeds 500 characters");
+        }
+        row.description = values.get("description");
+        if (row.description != null && row.description.length() > 4000) {
+            throw new IllegalArgumentException("description exceeds 4000 characters");
+        }
+
+        Long projectId = parseLong(required(values, "projectId"), "projectId");
+        row.project = context.projects
+                .computeIfAbsent(projectId, projectRepository::findById)
+                .orElseThrow(() -> new IllegalArgumentException("Project not found: " + projectId));
+
+        row.impact = parseEnum(required(values, "impact"), Impact.class, "impact");
+        row.urgency = parseEnum(required(values, "urgency"), Urgency.class, "urgency");
+        row.issueType = parseEnum(required(values, "issueType"), IssueType.class, "issueType");
+        row.priority = TicketServiceImpl.resolvePriority(row.impact, row.urgency);
+
+        String status = values.get("status");
+        row.status = status != null ? parseEnum(status, TicketStatus.class, "status") : TicketStatus.OPEN;
+
+        String assignedToId = values.get("assignedToId");
+        row.assignedToId = assignedToId != null ? parseLong(assignedToId, "assignedToId") : null;
+        String groupId = values.get("groupId");
+        row.groupId = groupId != null ? parseLong(groupId, "groupId") : null;
+
+        String dueDate = values.get("dueDate");
+        if (dueDate != null) {
+            try {
+                row.dueDate = LocalDateTime.parse(dueDate);
+            } catch (DateTimeParseException e) {
+                throw new IllegalArgumentException("Invalid dueDate: " + dueDate);
+            }
+        }
+        row.archived = Boolean.parseBoolean(values.getOrDefault("archived", "false"));
+        return row;
+    }
+
+    private void flush(List<ImportRow> batch, ImportJob job, ImportContext context) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        resolveReferences(batch, context);
+
+        LocalDateTime now = LocalDateTime.now();
+        List<PendingTicket> pending = new ArrayList<>(batch.size());
+        for (ImportRow row : batch) {
+            String problem = referenceProblem(row, context);
+            if (problem != null) {
+                job.reject(row.rowNumber, problem);
+            } else {
+                pending.add(new PendingTicket(row.rowNumber, toTicket(row, context, now)));
+            }
+        }
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        try {
+            insert(pending);
+            job.rowsImported.addAndGet(pending.size());
+        } catch (DataAccessException e) {
+            log.warn("Ticket import {}: batch of {} row(s) failed, retrying row by row", job.id, pending.size(), e);
+            for (PendingTicket ticket : pending) {
+                try {
+                    insert(List.of(ticket));
+                    job.rowsImported.incrementAndGet();
+                } catch (DataAccessException rowError) {
+                    job.reject(ticket.rowNumber, "Insert failed: " + rowError.getMostSpecificCause().getMessage());
+                }
+            }
+        }
+    }
+
+    private String referenceProblem(ImportRow row, ImportContext context) {
+        if (row.assignedToId != null) {
+            Boolean known = context.knownUsers.get(row.assignedToId);
+            if (known == null) {
+                return "Could not verify assignee " + row.assignedToId + ", user service unavailable";
+            }
+            if (!known) {
+                return "Assignee not found: " + row.assignedToId;
+            }
+        }
+        if (row.groupId != null) {
+            Boolean known = context.knownGroups.get(row.groupId);
+            if (known == null) {
+                return "Could not verify group " + row.groupId + ", user service unavailable";
+            }
+            if (!known) {
+                return "Group not found: " + row.groupId;
+            }
+        }
+        return null;
+    }
+
+    private TicketModel toTicket(ImportRow row, ImportContext context, LocalDateTime now) {
+        long number = ticketNumberAllocator.next(row.project.getId());
+        TicketModel ticket = new TicketModel();
+        ticket.setTicketId(TicketServiceImpl.getProjectKey(row.project) + "-" + number);
+        ticket.setTicketNumber(number);
+        ticket.setTitle(row.title);
+        ticket.setDescription(row.description);
+        ticket.setPriority(row.priority);
+        ticket.setStatus(row.status);
+        ticket.setProject(row.project);
+        ticket.setCreatedById(context.createdById);
+        ticket.setAssignedToId(row.assignedToId);
+        ticket.setDueDate(row.dueDate);
+        ticket.setArchived(row.archived);
+        ticket.setGroupId(row.groupId);
+        ticket.setUrgency(row.urgency);
+        ticket.setIssueType(row.issueType);
+        ticket.setImpact(row.impact);
+        ticket.setSlaDueAt(SlaWatcherService.isTerminal(row.status) ? null
+                : SlaWatcherService.computeDeadline(now, row.project.getSlaTier(), row.priority));
+        ticket.setSlaBreached(false);
+        ticket.setCreatedAt(now);
+        ticket.setUpdatedAt(now);
+        return ticket;
+    }
+
+    /**
+     * Inserts the tickets in one JDBC batch and runs the post-create hooks in the same
+     * transaction, so they only take effect if the whole batch commits.
+     */
+    private void insert(List<PendingTicket> pending) {
+        List<TicketModel> tickets = pending.stream().map(PendingTicket::ticket).toList();
+        transactionTemplate.executeWithoutResult(status -> {
+            GeneratedKeyHolder keys = new GeneratedKeyHolder();
+            jdbcTemplate.batchUpdate(connection -> connection.prepareStatement(INSERT_SQL, new String[]{"id"}),
+                    new BatchPreparedStatementSetter() {
+                        @Override
+                        public void setValues(PreparedStatement ps, int i) throws SQLException {
+                            new ArgumentPreparedStatementSetter(insertArgs(tickets.get(i))).setValues(ps);
+                        }
+
+                        @Override
+                        public int getBatchSize() {
+                            return tickets.size();
+                        }
+                    }, keys);
+            List<Map<String, Object>> generated = keys.getKeyList();
+            for (int i = 0; i < tickets.size(); i++) {
+                tickets.get(i).setId(((Number) generated.get(i).values().iterator().next()).longValue());
+            }
+
+            ticketCounterService.addAll(tickets.stream().map(TicketCounterService.Bucket::of).toList());
+            for (TicketModel ticket : tickets) {
+                ticketAuditService.recordChanges(ticket, null);
+                slaWatcherService.track(ticket);
+                ticketSearchIndex.index(ticket);
+                ticketAssignmentEngine.moved(null, null, ticket.getAssignedToId(), ticket.getStatus());
+            }
+        });
+    }
+
+    private static Object[] insertArgs(TicketModel ticket) {
+        return new Object[]{
+                ticket.getTicketId(),
+                ticket.getTicketNumber(),
+                ticket.getTitle(),
+                ticket.getDescription(),
+                ticket.getPriority().name(),
+                ticket.getStatus().name(),
+                ticket.getProject().getId(),
+                ticket.getCreatedById(),
+                ticket.getAssignedToId(),
+                ticket.getDueDate() != null ? Timestamp.valueOf(ticket.getDueDate()) : null,
+                ticket.getArchived(),
+                ticket.getGroupId(),
+                ticket.getUrgency().name(),
+                ticket.getIssueType().name(),
+                ticket.getImpact().name(),
+                ticket.getSlaDueAt() != null ? Timestamp.valueOf(ticket.getSlaDueAt()) : null,
+                ticket.getSlaBreached(),
+                Timestamp.valueOf(ticket.getCreatedAt()),
+                Timestamp.valueOf(ticket.getUpdatedAt())
+        };
+    }
+
+    /**
+     * Looks up users and groups referenced by this batch that earlier batches have not already resolved.
+     * Groups are fetched with one batch call; users have no batch endpoint and are fetched once each.
+     * Ids whose lookup failed stay unresolved: their rows are rejected and later batches try again.
+     */
+    private void resolveReferences(List<ImportRow> batch, ImportContext context) {
+        Set<Long> newGroups = new HashSet<>();
+        Set<Long> newUsers = new HashSet<>();
+        for (ImportRow row : batch) {
+            if (row.groupId != null && !context.knownGroups.containsKey(row.groupId)) {
+                newGroups.add(row.groupId);
+            }
+            if (row.assignedToId != null && !context.knownUsers.containsKey(row.assignedToId)) {
+                newUsers.add(row.assignedToId);
+            }
+        }
+
+        if (!newGroups.isEmpty()) {
+            try {
+                StandardResponse<UserGroupDTO> response = userServiceClient.getUserGroupsByIds(newGroups);
+                Map<Long, Boolean> found = new HashMap<>();
+                newGroups.forEach(id -> found.put(id, false));
+                if (response != null && response.getItems() != null) {
+                    response.getItems().forEach(group -> found.put(group.getId(), true));
+                }
+                context.knownGroups.putAll(found);
+            } catch (RuntimeException e) {
+                log.warn("Ticket import: group lookup failed for {} group(s)", newGroups.size(), e);
+            }
+        }
+
+        for (Long userId : newUsers) {
+            try {
+                StandardResponse<UserDTO> response = userClient.getUserById(userId);
+                context.knownUsers.put(userId,
+                        response != null && response.getData() != null && response.getData().getId() != null);
+            } catch (FeignException.NotFound e) {
+                context.knownUsers.put(userId, false);
+            } catch (RuntimeException e) {
+                log.warn("Ticket import: user lookup failed for user {}", userId, e);
+            }
+        }
+    }
+
+    private Long resolveCurrentUserId() {
+        Long currentUserId = SecurityUtils.getCurrentUserId();
+        if (currentUserId != null) {
+            return currentUserId;
+        }
+        UserDTO currentUser = userClient.getUserByEmail(SecurityUtils.getCurrentUserName()).getData();
+        if (currentUser == null || currentUser.getId() == null) {
+            throw new HltCustomerException(ErrorCode.USER_NOT_FOUND);
+        }
+        return currentUser.getId();
+    }
+
+    private String required(Map<String, String> values, String field) {
+        String value = values.get(field);
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException(field + " is required");
+        }
+        return value.trim();
+    }
+
+    private Long parseLong(String value, String field) {
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid " + field + ": " + value);
+        }
+    }
+
+    private <E extends Enum<E>> E parseEnum(String value, Class<E> enumType, String field) {
+        try {
+            return Enum.valueOf(enumType, value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid " + field + ": " + value);
+        }
+    }
+
+    private static final class ImportRow {
+        private long rowNumber;
+        private String title;
+        private String description;
+        private ProjectModel project;
+        private Impact impact;
+        private Urgency urgency;
+        private IssueType issueType;
+        private TicketPriority priority;
+        private TicketStatus status;
+        private Long assignedToId;
+        private Long groupId;
+        private LocalDateTime dueDate;
+        private boolean archived;
+    }
+
+    private record PendingTicket(long rowNumber, TicketModel ticket) {
+    }
+
+    private static final class ImportContext {
+        private final Long createdById;
+        private final Map<Long, Optional<ProjectModel>> projects = new HashMap<>();
+        private final Map<Long, Boolean> knownUsers = new HashMap<>();
+        private final Map<Long, Boolean> knownGroups = new HashMap<>();
+
+        private ImportContext(Long createdById) {
+            this.createdById = createdById;
+        }
+    }
+
+    private final class ImportJob {
+        private final String id;
+        private final LocalDateTime startedAt = LocalDateTime.now();
+        private final AtomicLong rowsRead = new AtomicLong();
+        private final AtomicLong rowsImported = new AtomicLong();
+        private final AtomicLong rowsFailed = new AtomicLong();
+        private final List<TicketImportErrorDTO> errors = new ArrayList<>();
+        private volatile String state = "RUNNING";
+        private volatile LocalDateTime finishedAt;
+
+        private ImportJob(String id) {
+            this.id = id;
+        }
+
+        private void reject(long row, String message) {
+            rowsFailed.incrementAndGet();
+            synchronized (errors) {
+                if (errors.size() < maxReportedErrors) {
+                    errors.add(new TicketImportErrorDTO(row, message));
+                }
+            }
+        }
+
+        private void finish(String finalState) {
+            state = finalState;
+            finishedAt = LocalDateTime.now();
+        }
+
+        private TicketImportStatusDTO snapshot() {
+            List<TicketImportErrorDTO> errorsCopy;
+            synchronized (errors) {
+                errorsCopy = new ArrayList<>(errors);
+            }
+            return TicketImportStatusDTO.builder()
+                    .importId(id)
+                    .state(state)
+                    .rowsRead(rowsRead.get())
+                    .rowsImported(rowsImported.get())
+                    .rowsFailed(rowsFailed.get())
+                    .errors(errorsCopy)
+                    .startedAt(startedAt)
+                    .finishedAt(finishedAt)
+                    .build();
+        }
+    }
+}
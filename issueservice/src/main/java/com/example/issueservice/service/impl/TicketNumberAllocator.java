@@ -0,0 +1,113 @@
+package com.example.issueservice.service.impl;
+
+import com.example.issueservice.config.SequencePool;
+import com.its.commonservice.exception.ErrorCode;
+import com.its.commonservice.exception.HltCustomerException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Hands out per-project ticket numbers from in-memory blocks.
+ * A block is reserved with a single atomic statement on TICKET_SEQUENCES, so instances never
+ * share numbers. Numbers left in a block when an instance stops are skipped.
+ *
+ * Reservations run on the dedicated {@link SequencePool} in autocommit mode rather than in a
+ * REQUIRES_NEW transaction: callers hold a main-pool connection for their own transaction, and
+ * waiting for a second one from the same pool while holding the block lock could exhaust it.
+ */
+@Service
+public class TicketNumberAllocator {
+
+    private static final String ADVANCE_SQL =
+            "UPDATE ticket_sequences SET last_reserved = LAST_INSERT_ID(last_reserved + ?) WHERE project_id = ?";
+
+    private static final String SEED_SQL =
+            "SELECT COALESCE(MAX(ticket_number), 0) FROM tickets WHERE project_id = ?";
+
+    // Losing the insert race to another instance turns into a normal advance of its row
+    private static final String INSERT_SQL =
+            "INSERT INTO ticket_sequences (project_id, last_reserved) VALUES (?, LAST_INSERT_ID(? + ?)) "
+                    + "ON DUPLICATE KEY UPDATE last_reserved = LAST_INSERT_ID(last_reserved + ?)";
+
+    private final SequencePool sequencePool;
+    private final int blockSize;
+
+    private final ConcurrentMap<Long, Block> blocks = new ConcurrentHashMap<>();
+
+    public TicketNumberAllocator(SequencePool sequencePool,
+                                 @Value("${tickets.number-block-size:50}") int blockSize) {
+        this.sequencePool = sequencePool;
+        this.blockSize = blockSize;
+    }
+
+    public long next(Long projectId) {
+        Block block = blocks.computeIfAbsent(projectId, id -> new Block());
+        synchronized (block) {
+            if (block.next > block.last) {
+                long last = reserveBlock(projectId);
+                block.next = last - blockSize + 1;
+                block.last = last;
+            }
+            return block.next++;
+        }
+    }
+
+    /**
+     * Advances the project's high-water mark by one block and returns the new mark.
+     * The first reservation for a project creates its row, seeded from existing tickets.
+     */
+    private long reserveBlock(Long projectId) {
+        Long last = sequencePool.execute(connection -> {
+            try (PreparedStatement advance = connection.prepareStatement(ADVANCE_SQL)) {
+                advance.setLong(1, blockSize);
+                advance.setLong(2, projectId);
+                if (advance.executeUpdate() == 0) {
+                    insertSequence(connection, projectId, lastTicketNumber(connection, projectId));
+                }
+            }
+            return lastInsertId(connection);
+        });
+        if (last == null || last < blockSize) {
+            throw new HltCustomerException(ErrorCode.DATABASE_ERROR, "Unable to reserve ticket numbers for project " + projectId);
+        }
+        return last;
+    }
+
+    private void insertSequence(Connection connection, Long projectId, long seed) throws SQLException {
+        try (PreparedStatement insert = connection.prepareStatement(INSERT_SQL)) {
+            insert.setLong(1, projectId);
+            insert.setLong(2, seed);
+            insert.setLong(3, blockSize);
+            insert.setLong(4, blockSize);
+            insert.executeUpdate();
+        }
+    }
+
+    private static long lastTicketNumber(Connection connection, Long projectId) throws SQLException {
+        try (PreparedStatement seed = connection.prepareStatement(SEED_SQL)) {
+            seed.setLong(1, projectId);
+            try (ResultSet rs = seed.executeQuery()) {
+                return rs.next() ? rs.getLong(1) : 0L;
+            }
+        }
+    }
+
+    private static Long lastInsertId(Connection connection) throws SQLException {
+        try (PreparedStatement select = connection.prepareStatement("SELECT LAST_INSERT_ID()");
+             ResultSet rs = select.executeQuery()) {
+            return rs.next() ? rs.getLong(1) : null;
+        }
+    }
+
+    private static final class Block {
+        private long next = 1;
+        private long last = 0;
+    }
+}
@@ -0,0 +1,503 @@
+package com.example.issueservice.service.impl;
+
+import com.example.issueservice.model.TicketModel;
+import com.its.commonservice.enums.TicketStatus;
+import com.its.commonservice.util.TransactionUtils;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index over ticket titles, descriptions and comments.
+ *
+ * Ticket and comment writes update the index after commit; the index is also reconciled
+ * with the database on startup and periodically, which picks up writes made by other
+ * instances. Queries match every term (AND) and rank by a tf-idf score where title terms
+ * weigh more than description and comment terms.
+ *
+ * Reconciling updates the live index in place, one chunk of rows per write-lock hold, so
+ * there is never a second copy of the index in memory and searches are only paused per
+ * chunk. A document changed by a local write after the reconcile started is left alone:
+ * that write is at least as fresh as the row the reconcile read. Documents the database
+ * no longer has are dropped at the end. The reconcile runs on a thread of its own.
+ */
+@Slf4j
+@Service
+public class TicketSearchIndex {
+
+    private static final int TITLE_WEIGHT = 3;
+    private static final int BODY_WEIGHT = 1;
+    private static final int MIN_TOKEN_LENGTH = 2;
+
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "an", "and", "are", "as", "at", "be", "by", "for", "from", "in", "is", "it",
+            "of", "on", "or", "that", "the", "this", "to", "was", "with");
+
+    private static final int RECONCILE_CHUNK = 1000;
+
+    private static final String TICKETS_SQL = "SELECT id, project_id, status, title, description FROM tickets";
+    // Ordered by ticket so each ticket's comments can be combined without holding them all
+    private static final String COMMENTS_SQL =
+            "SELECT ticket_id, comment FROM ticket_comments WHERE ticket_id IS NOT NULL ORDER BY ticket_id";
+
+    private final JdbcTemplate streamingJdbcTemplate;
+    private final long rebuildMs;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ScheduledExecutorService rebuilder = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "search-index-rebuild");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Guarded by lock
+    private final Map<Long, Doc> docs = new HashMap<>();
+    private final Map<String, Map<Long, Integer>> postings = new HashMap<>();
+    private long writeSeq;
+    private int generation;
+    private Set<Long> removedDuringRebuild;
+
+    public TicketSearchIndex(DataSource dataSource,
+                             @Value("${search.index.rebuild-ms:900000}") long rebuildMs) {
+        // Integer.MIN_VALUE makes MySQL Connector/J stream rows instead of buffering the result set
+        this.streamingJdbcTemplate = new JdbcTemplate(dataSource);
+        this.streamingJdbcTemplate.setFetchSize(Integer.MIN_VALUE);
+        this.rebuildMs = rebuildMs;
+    }
+
+    /**
+     * (Re)indexes a saved ticket's own fields once the transaction commits, keeping its comment terms.
+     */
+    public void index(TicketModel ticket) {
+        Long ticketId = ticket.getId();
+        Long projectId = ticket.getProject() != null ? ticket.getProject().getId() : null;
+        TicketStatus status = ticket.getStatus();
+        Map<String, Integer> terms = ticketTerms(ticket.getTitle(), ticket.getDescription());
+        TransactionUtils.afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                Doc doc = docs.get(ticketId);
+                if (doc == null) {
+                    doc = new Doc();
+                    docs.put(ticketId, doc);
+                }
+                doc.projectId = projectId;
+                doc.status = status;
+                doc.touched = ++writeSeq;
+                Map<String, Integer> before = doc.combined();
+                doc.ticketTerms = terms;
+                repost(postings, ticketId, before, doc.combined());
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    public void addComment(Long ticketId, String comment) {
+        Map<String, Integer> terms = new HashMap<>();
+        addTerms(terms, comment, BODY_WEIGHT);
+        if (terms.isEmpty()) {
+            return;
+        }
+        TransactionUtils.afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                Doc doc = docs.get(ticketId);
+                if (doc == null) {
+                    // Ticket not indexed yet; the next rebuild will include the comment
+                    return;
+                }
+                doc.touched = ++writeSeq;
+                Map<String, Integer> before = doc.combined();
+                terms.forEach((term, weight) -> doc.commentTerms.merge(term, weight, Integer::sum));
+                repost(postings, ticketId, before, doc.combined());
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    public void remove(Long ticketId) {
+        TransactionUtils.afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                Doc doc = docs.remove(ticketId);
+                if (doc != null) {
+                    repost(postings, ticketId, doc.combined(), Map.of());
+                }
+                if (removedDuringRebuild != null) {
+                    // Keeps a row the running reconcile read before the delete from coming back
+                    removedDuringRebuild.add(ticketId);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * Returns up to limit ticket ids matching every term in the query, best match first.
+     * projectId and status narrow the results when given.
+     */
+    public List<Long> search(String query, Long projectId, TicketStatus status, int limit) {
+        Set<String> terms = new LinkedHashSet<>(tokenize(query));
+        if (terms.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            List<Map<Long, Integer>> lists = new ArrayList<>(terms.size());
+            for (String term : terms) {
+                Map<Long, Integer> list = postings.get(term);
+                if (list == null) {
+                    return List.of();
+                }
+                lists.add(list);
+            }
+            // Walk the rarest term's postings and probe the others
+            lists.sort(Comparator.comparingInt(Map::size));
+            int totalDocs = Math.max(docs.size(), 1);
+            double[] idf = new double[lists.size()];
+            for (int i = 0; i < idf.length; i++) {
+                idf[i] = Math.log(1.0 + (double) totalDocs / lists.get(i).size());
+            }
+
+            PriorityQueue<Hit> top = new PriorityQueue<>(limit + 1);
+            candidates:
+            for (Map.Entry<Long, Integer> entry : lists.get(0).entrySet()) {
+                Long ticketId = entry.getKey();
+                if (projectId != null || status != null) {
+                    Doc doc = docs.get(ticketId);
+                    if ((projectId != null && !projectId.equals(doc.projectId))
+                            || (status != null && status != doc.status)) {
+                        continue;
+                    }
+                }
+                double score = idf[0] * (1 + Math.log(entry.getValue()));
+                for (int i = 1; i < lists.size(); i++) {
+                    Integer weight = lists.get(i).get(ticketId);
+                    if (weight == null) {
+                        continue candidates;
+                    }
+                    score += idf[i] * (1 + Math.log(weight));
+                }
+                top.add(new Hit(ticketId, score));
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            }
+
+            List<Long> ids = new ArrayList<>(top.size());
+            while (!top.isEmpty()) {
+                ids.add(top.poll().ticketId);
+            }
+            Collections.reverse(ids);
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        rebuilder.scheduleWithFixedDelay(this::rebuildSafely, 0, rebuildMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        rebuilder.shutdownNow();
+    }
+
+    private void rebuildSafely() {
+        try {
+            rebuild();
+        } catch (RuntimeException e) {
+            log.error("Ticket search: index rebuild failed, keeping the current index", e);
+        }
+    }
+
+    /**
+     * Reconciles the index with the tickets and comments tables.
+     */
+    void rebuild() {
+        long started = System.currentTimeMillis();
+        Pass pass;
+        lock.writeLock().lock();
+        try {
+            pass = new Pass(writeSeq, ++generation);
+            removedDuringRebuild = new HashSet<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        try {
+            List<Object[]> chunk = new ArrayList<>(RECONCILE_CHUNK);
+            streamingJdbcTemplate.query(TICKETS_SQL, rs -> {
+                long projectId = rs.getLong("project_id");
+                String status = rs.getString("status");
+                chunk.add(new Object[]{
+                        rs.getLong("id"),
+                        rs.wasNull() ? null : projectId,
+                        status != null ? TicketStatus.valueOf(status) : null,
+                        ticketTerms(rs.getString("title"), rs.getString("description"))});
+                if (chunk.size() >= RECONCILE_CHUNK) {
+                    applyTickets(chunk, pass);
+                    chunk.clear();
+                }
+            });
+            applyTickets(chunk, pass);
+            chunk.clear();
+
+            CommentRun run = new CommentRun();
+            streamingJdbcTemplate.query(COMMENTS_SQL, rs -> {
+                long ticketId = rs.getLong("ticket_id");
+                if (run.ticketId == null || run.ticketId != ticketId) {
+                    if (run.ticketId != null) {
+                        chunk.add(new Object[]{run.ticketId, run.terms});
+                        if (chunk.size() >= RECONCILE_CHUNK) {
+                            applyComments(chunk, pass);
+                            chunk.clear();
+                        }
+                    }
+                    run.ticketId = ticketId;
+                    run.terms = new HashMap<>();
+                }
+                addTerms(run.terms, rs.getString("comment"), BODY_WEIGHT);
+            });
+            if (run.ticketId != null) {
+                chunk.add(new Object[]{run.ticketId, run.terms});
+            }
+            applyComments(chunk, pass);
+
+            int dropped = sweep(pass);
+            log.info("Ticket search: reconciled {} ticket(s), dropped {}, {} term(s) in {} ms",
+                    docCount(), dropped, termCount(), System.currentTimeMillis() - started);
+        } finally {
+            lock.writeLock().lock();
+            try {
+                removedDuringRebuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void applyTickets(List<Object[]> rows, Pass pass) {
+        lock.writeLock().lock();
+        try {
+            for (Object[] row : rows) {
+                Long ticketId = (Long) row[0];
+                if (removedDuringRebuild.contains(ticketId)) {
+                    continue;
+                }
+                Doc doc = docs.get(ticketId);
+                if (doc == null) {
+                    doc = new Doc();
+                    docs.put(ticketId, doc);
+                }
+                doc.seen = pass.generation;
+                if (doc.touched > pass.startSeq) {
+                    continue;
+                }
+                Map<String, Integer> before = doc.combined();
+                doc.projectId = (Long) row[1];
+                doc.status = (TicketStatus) row[2];
+                doc.ticketTerms = (Map<String, Integer>) row[3];
+                repost(postings, ticketId, before, doc.combined());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void applyComments(List<Object[]> rows, Pass pass) {
+        lock.writeLock().lock();
+        try {
+            for (Object[] row : rows) {
+                Long ticketId = (Long) row[0];
+                Doc doc = docs.get(ticketId);
+                if (doc == null || doc.touched > pass.startSeq) {
+                    continue;
+                }
+                doc.commentsSeen = pass.generation;
+                Map<String, Integer> before = doc.combined();
+                doc.commentTerms = (Map<String, Integer>) row[1];
+                repost(postings, ticketId, before, doc.combined());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Drops documents the pass did not find in the database and comment terms of tickets
+     * that no longer have comments, leaving documents written locally since the pass began.
+     */
+    private int sweep(Pass pass) {
+        lock.writeLock().lock();
+        try {
+            int dropped = 0;
+            Iterator<Map.Entry<Long, Doc>> it = docs.entrySet().iterator();
+            while (it.hasNext()) {
+                Map.Entry<Long, Doc> entry = it.next();
+                Doc doc = entry.getValue();
+                if (doc.touched > pass.startSeq) {
+                    continue;
+                }
+                if (doc.seen != pass.generation) {
+                    repost(postings, entry.getKey(), doc.combined(), Map.of());
+                    it.remove();
+                    dropped++;
+                } else if (doc.commentsSeen != pass.generation && !doc.commentTerms.isEmpty()) {
+                    Map<String, Integer> before = doc.combined();
+                    doc.commentTerms = new HashMap<>();
+                    repost(postings, entry.getKey(), before, doc.combined());
+                }
+            }
+            return dropped;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private int docCount() {
+        lock.readLock().lock();
+        try {
+            return docs.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private int termCount() {
+        lock.readLock().lock();
+        try {
+            return postings.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean wordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                String token = text.substring(start, i).toLowerCase();
+                if (token.length() >= MIN_TOKEN_LENGTH && !STOP_WORDS.contains(token)) {
+                    tokens.add(token);
+                }
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    private static Map<String, Integer> ticketTerms(String title, String description) {
+        Map<String, Integer> terms = new HashMap<>();
+        addTerms(terms, title, TITLE_WEIGHT);
+        addTerms(terms, description, BODY_WEIGHT);
+        return terms;
+    }
+
+    private static void addTerms(Map<String, Integer> terms, String text, int weight) {
+        for (String token : tokenize(text)) {
+            terms.merge(token, weight, Integer::sum);
+        }
+    }
+
+    private static void repost(Map<String, Map<Long, Integer>> postings, Long ticketId,
+                               Map<String, Integer> before, Map<String, Integer> after) {
+        for (String term : before.keySet()) {
+            if (!after.containsKey(term)) {
+                Map<Long, Integer> list = postings.get(term);
+                if (list != null) {
+                    list.remove(ticketId);
+                    if (list.isEmpty()) {
+                        postings.remove(term);
+                    }
+                }
+            }
+        }
+        after.forEach((term, weight) -> postings.computeIfAbsent(term, t -> new HashMap<>()).put(ticketId, weight));
+    }
+
+    /**
+     * One reconcile: documents written locally after startSeq are newer than what it reads.
+     */
+    private record Pass(long startSeq, int generation) {
+    }
+
+    /**
+     * The ticket whose comments are being read, and their terms so far.
+     */
+    private static final class CommentRun {
+        private Long ticketId;
+        private Map<String, Integer> terms;
+    }
+
+    private static final class Doc {
+        private Long projectId;
+        private TicketStatus status;
+        private Map<String, Integer> ticketTerms = new HashMap<>();
+        private Map<String, Integer> commentTerms = new HashMap<>();
+        // Sequence number of the last local write, and the reconcile passes that last confirmed it
+        private long touched;
+        private int seen;
+        private int commentsSeen;
+
+        private Map<String, Integer> combined() {
+            if (commentTerms.isEmpty()) {
+                return ticketTerms;
+            }
+            Map<String, Integer> combined = new HashMap<>(ticketTerms);
+            commentTerms.forEach((term, weight) -> combined.merge(term, weight, Integer::sum));
+            return combined;
+        }
+    }
+
+    private static final class Hit implements Comparable<Hit> {
+        private final Long ticketId;
+        private final double score;
+
+        private Hit(Long ticketId, double score) {
+            this.ticketId = ticketId;
+            this.score = score;
+        }
+
+        @Override
+        public int compareTo(Hit other) {
+            return Double.compare(score, other.score);
+        }
+    }
+}
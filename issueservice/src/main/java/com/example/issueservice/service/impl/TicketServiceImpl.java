@@ -2,6 +2,7 @@ package com.example.issueservice.service.impl;
 
 import com.its.common.dto.TicketCommentDTO;
 import com.its.common.dto.TicketDTO;
+import com.its.common.dto.TicketFilterDTO;
 import com.its.common.dto.UserDTO;
 import com.its.common.dto.UserGroupDTO;
 import com.example.issueservice.model.ProjectModel;
@@ -11,11 +12,17 @@ import com.example.issueservice.populator.TicketCommentPopulator;
 import com.example.issueservice.populator.TicketPopulator;
 import com.example.issueservice.repository.ProjectRepository;
 import com.example.issueservice.repository.TicketCommentRepository;
+import com.example.issueservice.repository.TicketHistoryRepository;
 import com.example.issueservice.repository.TicketRepository;
+import com.example.issueservice.repository.TicketSpecifications;
 import com.example.issueservice.service.TicketService;
 import com.example.issueservice.client.UserGroupClient;
 import com.example.issueservice.client.UserClient;
+import com.example.issueservice.utils.ParallelLookup;
+import com.example.issueservice.utils.TicketCursorCodec;
 
+import com.its.commonservice.dto.CursorPage;
+import com.its.commonservice.dto.StandardResponse;
 import com.its.commonservice.enums.*;
 import com.its.commonservice.exception.ErrorCode;
 import com.its.commonservice.exception.HltCustomerException;
@@ -25,11 +32,18 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import static com.its.commonservice.enums.Urgency.CRITICAL;
@@ -39,14 +53,26 @@ import static com.its.commonservice.enums.Urgency.CRITICAL;
 @Transactional
 public class TicketServiceImpl implements TicketService {
 
+    private static final int MAX_SEARCH_RESULTS = 100;
+
     private final TicketRepository ticketRepository;
     private final ProjectRepository projectRepository;
     private final TicketCommentRepository ticketCommentRepository;
+    private final TicketHistoryRepository ticketHistoryRepository;
     private final UserGroupClient userGroupClient;
     private final UserClient userClient;
 
     private final TicketPopulator ticketPopulator;
     private final TicketCommentPopulator ticketCommentPopulator;
+    private final TicketCursorCodec ticketCursorCodec;
+    private final TicketNumberAllocator ticketNumberAllocator;
+    private final ParallelLookup parallelLookup;
+    private final SlaWatcherService slaWatcherService;
+    private final TicketAuditService ticketAuditService;
+    private final TicketSearchIndex ticketSearchIndex;
+    private final TicketCounterService ticketCounterService;
+    private final GroupRoutingCache groupRoutingCache;
+    private final TicketAssignmentEngine ticketAssignmentEngine;
 
 
     @Override
@@ -55,19 +81,37 @@ public class TicketServiceImpl implements TicketService {
                 ? ticketRepository.findById(ticketDTO.getId())
                 .orElseThrow(() -> new HltCustomerException(ErrorCode.TICKET_NOT_FOUND))
                 : new TicketModel();
+        Map<String, String> before = ticketModel.getId() != null ? ticketAuditService.snapshot(ticketModel) : null;
+        TicketCounterService.Bucket counted = ticketModel.getId() != null ? TicketCounterService.Bucket.of(ticketModel) : null;
+        Long previousAssignee = ticketModel.getAssignedToId();
+        TicketStatus previousStatus = ticketModel.getStatus();
 
-        applyDtoToModel(ticketDTO, ticketModel);
-
-        if (ticketModel.getId() == null) {
-            generateTicketIdIfNew(ticketModel);
-            ticketModel.setCreatedAt(LocalDateTime.now());
-        }
-        ticketModel.setUpdatedAt(LocalDateTime.now());
-        if (ticketModel.getPriority() == TicketPriority.HIGH && ticketModel.getAssignedToId() == null) {
-            autoAssignHighPriorityTicket(ticketModel);
+        ParallelLookup.Deadline lookupDeadline = parallelLookup.deadline();
+        CompletableFuture<GroupRoutingCache.Route> routingLookup = applyDtoToModel(ticketDTO, ticketModel, lookupDeadline);
+        try {
+            if (ticketModel.getId() == null) {
+                generateTicketIdIfNew(ticketModel);
+                ticketModel.setCreatedAt(LocalDateTime.now());
+            }
+            ticketModel.setUpdatedAt(LocalDateTime.now());
+            if (ticketModel.getPriority() == TicketPriority.HIGH && ticketModel.getAssignedToId() == null) {
+                autoAssignHighPriorityTicket(ticketModel, routingLookup, lookupDeadline);
+            }
+        } finally {
+            if (routingLookup != null) {
+                // Only still running if something failed before its result was needed
+                routingLookup.cancel(true);
+            }
         }
 
+        slaWatcherService.applyDeadline(ticketModel);
+
         TicketModel saved = ticketRepository.save(ticketModel);
+        slaWatcherService.track(saved);
+        ticketAuditService.recordChanges(saved, before);
+        ticketCounterService.move(counted, TicketCounterService.Bucket.of(saved));
+        ticketAssignmentEngine.moved(previousAssignee, previousStatus, saved.getAssignedToId(), saved.getStatus());
+        ticketSearchIndex.index(saved);
         return ticketPopulator.toDTO(saved);
     }
 
@@ -79,21 +123,51 @@ public class TicketServiceImpl implements TicketService {
     }
 
     @Override
-    public Page<TicketDTO> getAllTickets(Pageable pageable, Long projectId, String statusStr, String priorityStr) {
-        Page<TicketModel> tickets = fetchTicketsWithFilters(pageable, projectId, statusStr, priorityStr);
+    public Page<TicketDTO> getAllTickets(Pageable pageable, TicketFilterDTO filter, String viewStr) {
+        TicketView view = parseEnum(viewStr, TicketView.class, "Invalid ticket view");
+        Page<TicketModel> tickets = ticketRepository.findAll(buildFilterSpec(filter), pageable);
 
-        List<TicketDTO> dtoList = tickets.getContent().stream()
-                .map(ticketPopulator::toDTO)
-                .collect(Collectors.toList());
+        List<TicketDTO> dtoList = ticketPopulator.toDTOs(tickets.getContent(), view != null ? view : TicketView.FULL);
 
         return new PageImpl<>(dtoList, pageable, tickets.getTotalElements());
     }
 
+    @Override
+    public CursorPage<TicketDTO> getTicketsByCursor(String cursor, Pageable pageable, TicketFilterDTO filter, String viewStr) {
+        // The cursor is a ticket id, so pages can only be ordered by id
+        if (pageable.getSort().isSorted()) {
+            throw new HltCustomerException(ErrorCode.INVALID_INPUT,
+                    "sort is not supported with cursor paging; pages are ordered by id, newest first");
+        }
+        int size = pageable.getPageSize();
+        TicketView view = parseEnum(viewStr, TicketView.class, "Invalid ticket view");
+        Long afterId = ticketCursorCodec.decode(cursor);
+        Specification<TicketModel> spec = buildFilterSpec(filter).and(TicketSpecifications.idBefore(afterId));
+
+        // Fetch one extra row to learn whether another page exists without a COUNT
+        List<TicketModel> rows = ticketRepository.findBy(spec, query -> query
+                .sortBy(Sort.by(Sort.Direction.DESC, "id"))
+                .limit(size + 1)
+                .all());
+        boolean hasNext = rows.size() > size;
+        List<TicketModel> pageRows = hasNext ? rows.subList(0, size) : rows;
+
+        List<TicketDTO> dtoList = ticketPopulator.toDTOs(pageRows, view != null ? view : TicketView.FULL);
+        String nextCursor = hasNext ? ticketCursorCodec.encode(pageRows.get(pageRows.size() - 1).getId()) : null;
+        return new CursorPage<>(dtoList, nextCursor);
+    }
+
     @Override
     public void deleteTicket(Long ticketId) {
         TicketModel ticket = ticketRepository.findById(ticketId)
                 .orElseThrow(() -> new HltCustomerException(ErrorCode.TICKET_NOT_FOUND));
+        // ticket_history.ticket_id is a non-null FK without ON DELETE, so the audit trail goes first
+        ticketHistoryRepository.deleteByTicketId(ticketId);
         ticketRepository.delete(ticket);
+        ticketCounterService.move(TicketCounterService.Bucket.of(ticket), null);
+        ticketAssignmentEngine.moved(ticket.getAssignedToId(), ticket.getStatus(), null, null);
+        slaWatcherService.untrack(ticketId);
+        ticketSearchIndex.remove(ticketId);
     }
 
     @Override
@@ -101,17 +175,13 @@ public class TicketServiceImpl implements TicketService {
         TicketModel ticket = ticketRepository.findById(ticketId)
                 .orElseThrow(() -> new HltCustomerException(ErrorCode.TICKET_NOT_FOUND));
 
-        UserDTO CreatedBy = userClient.getUserByEmail(SecurityUtils.getCurrentUserName()).getData();
-        if (CreatedBy == null || CreatedBy.getId() == null) {
-            throw new HltCustomerException(ErrorCode.USER_NOT_FOUND);
-        }
-
         TicketCommentModel comment = new TicketCommentModel();
         comment.setTicket(ticket);
         comment.setComment(commentDTO.getComment());
-        comment.setCreatedBy(CreatedBy.getId());
+        comment.setCreatedBy(resolveCurrentUserId());
 
         TicketCommentModel saved = ticketCommentRepository.save(comment);
+        ticketSearchIndex.addComment(ticketId, saved.getComment());
         TicketCommentDTO resultDTO = new TicketCommentDTO();
         ticketCommentPopulator.populate(saved, resultDTO);
         return resultDTO;
@@ -134,9 +204,20 @@ public class TicketServiceImpl implements TicketService {
         // Role-based assignment check (optional)
         // validateAssignmentPermissions(SecurityUtils.getCurrentUserDetails(), ticket);
 
+        Map<String, String> before = ticketAuditService.snapshot(ticket);
+        TicketCounterService.Bucket counted = TicketCounterService.Bucket.of(ticket);
+        Long previousAssignee = ticket.getAssignedToId();
+        TicketStatus previousStatus = ticket.getStatus();
         ticket.setAssignedToId(assignedTo.getId());
         ticket.setStatus(TicketStatus.ASSIGNED);
-        return ticketPopulator.toDTO(ticketRepository.save(ticket));
+        slaWatcherService.applyDeadline(ticket);
+        TicketModel saved = ticketRepository.save(ticket);
+        slaWatcherService.track(saved);
+        ticketAuditService.recordChanges(saved, before);
+        ticketCounterService.move(counted, TicketCounterService.Bucket.of(saved));
+        ticketAssignmentEngine.moved(previousAssignee, previousStatus, saved.getAssignedToId(), saved.getStatus());
+        ticketSearchIndex.index(saved);
+        return ticketPopulator.toDTO(saved);
     }
 
 
@@ -155,51 +236,77 @@ public class TicketServiceImpl implements TicketService {
             throw new HltCustomerException(ErrorCode.TICKET_ALREADY_CLOSED, "Cannot update a closed ticket");
         }
 
+        Map<String, String> before = ticketAuditService.snapshot(ticket);
+        TicketCounterService.Bucket counted = TicketCounterService.Bucket.of(ticket);
+        Long previousAssignee = ticket.getAssignedToId();
+        TicketStatus previousStatus = ticket.getStatus();
         ticket.setStatus(status);
-        return ticketPopulator.toDTO(ticketRepository.save(ticket));
+        slaWatcherService.applyDeadline(ticket);
+        TicketModel saved = ticketRepository.save(ticket);
+        slaWatcherService.track(saved);
+        ticketAuditService.recordChanges(saved, before);
+        ticketCounterService.move(counted, TicketCounterService.Bucket.of(saved));
+        ticketAssignmentEngine.moved(previousAssignee, previousStatus, saved.getAssignedToId(), saved.getStatus());
+        ticketSearchIndex.index(saved);
+        return ticketPopulator.toDTO(saved);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<TicketDTO> searchTickets(String query, Long projectId, TicketStatus status, int limit) {
+        if (query == null || query.isBlank()) {
+            throw new HltCustomerException(ErrorCode.MISSING_REQUIRED_FIELD, "Search query is required");
+        }
+        List<Long> ids = ticketSearchIndex.search(query, projectId, status, Math.min(Math.max(limit, 1), MAX_SEARCH_RESULTS));
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, TicketModel> byId = ticketRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(TicketModel::getId, Function.identity()));
+        List<TicketModel> ranked = ids.stream().map(byId::get).filter(Objects::nonNull).toList();
+        return ticketPopulator.toDTOs(ranked, TicketView.SUMMARY);
     }
 
-    private void autoAssignHighPriorityTicket(TicketModel ticket) {
-        // Fetch groups by project and current ticket status via userservice
-        var response = userGroupClient.getGroupsByProjectAndPriority(
-                ticket.getProject().getId(),
-                ticket.getPriority() != null ? ticket.getPriority() : TicketPriority.MEDIUM
+    private void autoAssignHighPriorityTicket(TicketModel ticket,
+                                              CompletableFuture<GroupRoutingCache.Route> routingLookup,
+                                              ParallelLookup.Deadline lookupDeadline) {
+        // Route via the local routing table, unless a lookup was already started
+        GroupRoutingCache.Route route = routingLookup != null
+                ? parallelLookup.await(routingLookup, lookupDeadline)
+                : groupRoutingCache.resolve(
+                        ticket.getProject().getId(),
+                        ticket.getPriority() != null ? ticket.getPriority() : TicketPriority.MEDIUM
                 );
 
-        UserGroupDTO groupDto = (response != null) ? response.getData() : null;
-        if (groupDto == null) {
-            throw new HltCustomerException(ErrorCode.GROUP_NOT_FOUND_FOR_PROJECT);
-        }
-        if (groupDto.getGroupLead() == null || groupDto.getGroupLead().getId() == null) {
+        Long assigneeId = ticketAssignmentEngine.pick(route);
+        if (assigneeId == null) {
             throw new HltCustomerException(ErrorCode.GROUP_LEAD_NOT_ASSIGNED);
         }
-        ticket.setAssignedToId(groupDto.getGroupLead().getId());
+        ticket.setAssignedToId(assigneeId);
         ticket.setStatus(TicketStatus.ASSIGNED);
     }
 
-    private Page<TicketModel> fetchTicketsWithFilters(Pageable pageable, Long projectId, String statusStr, String priorityStr) {
-        TicketStatus status = parseEnum(statusStr, TicketStatus.class, "Invalid ticket status");
-        TicketPriority priority = parseEnum(priorityStr, TicketPriority.class, "Invalid ticket priority");
-
-        if (projectId != null && status != null && priority != null)
-            return ticketRepository.findByProjectIdAndStatusAndPriority(projectId, status, priority, pageable);
-        if (projectId != null && status != null)
-            return ticketRepository.findByProjectIdAndStatus(projectId, status, pageable);
-        if (projectId != null && priority != null)
-            return ticketRepository.findByProjectIdAndPriority(projectId, priority, pageable);
-        if (status != null && priority != null)
-            return ticketRepository.findByStatusAndPriority(status, priority, pageable);
-        if (projectId != null)
-            return ticketRepository.findByProjectId(projectId, pageable);
-        if (status != null)
-            return ticketRepository.findByStatus(status, pageable);
-        if (priority != null)
-            return ticketRepository.findByPriority(priority, pageable);
-
-        return ticketRepository.findAll(pageable);
+    static Specification<TicketModel> buildFilterSpec(TicketFilterDTO filter) {
+        if (filter == null) {
+            return Specification.where(null);
+        }
+        TicketStatus status = parseEnum(filter.getStatus(), TicketStatus.class, "Invalid ticket status");
+        TicketPriority priority = parseEnum(filter.getPriority(), TicketPriority.class, "Invalid ticket priority");
+        if (filter.getDueFrom() != null && filter.getDueTo() != null && filter.getDueFrom().isAfter(filter.getDueTo())) {
+            throw new HltCustomerException(ErrorCode.INVALID_DATE_RANGE);
+        }
+
+        return Specification.where(TicketSpecifications.projectIs(filter.getProjectId()))
+                .and(TicketSpecifications.statusIs(status))
+                .and(TicketSpecifications.priorityIs(priority))
+                .and(TicketSpecifications.assignedTo(filter.getAssignedToId()))
+                .and(TicketSpecifications.groupIs(filter.getGroupId()))
+                .and(TicketSpecifications.dueOnOrAfter(filter.getDueFrom()))
+                .and(TicketSpecifications.dueOnOrBefore(filter.getDueTo()))
+                .and(TicketSpecifications.archivedIs(filter.getArchived()));
     }
 
-    private <E extends Enum<E>> E parseEnum(String value, Class<E> enumType, String errorMsg) {
+    static <E extends Enum<E>> E parseEnum(String value, Class<E> enumType, String errorMsg) {
         if (value == null) return null;
         try {
             return Enum.valueOf(enumType, value.toUpperCase());
@@ -207,7 +314,14 @@ public class TicketServiceImpl implements TicketService {
             throw new HltCustomerException(ErrorCode.BUSINESS_VALIDATION_FAILED, errorMsg + ": " + value);
         }
     }
-    private void applyDtoToModel(TicketDTO dto, TicketModel model) {
+    /**
+     * Copies the DTO onto the model. The userservice lookups are independent of each other,
+     * so they are all started up front and awaited afterwards; the returned future is the
+     * prefetched routing group for HIGH-priority auto-assignment, or null when not needed
+     * or already in the routing table. All lookups share the request's deadline.
+     */
+    private CompletableFuture<GroupRoutingCache.Route> applyDtoToModel(TicketDTO dto, TicketModel model,
+                                                                       ParallelLookup.Deadline lookupDeadline) {
 
         updateIfPresent(dto.getTitle(), model::setTitle);
         updateIfPresent(dto.getDescription(), model::setDescription);
@@ -224,40 +338,104 @@ public class TicketServiceImpl implements TicketService {
             model.setImpact(dto.getImpact());
             model.setIssueType(dto.getIssueType());
             model.setUrgency(dto.getUrgency());
-        if (dto.getProjectId() != null) {
-            ProjectModel project = projectRepository.findById(dto.getProjectId())
-                    .orElseThrow(() -> new HltCustomerException(ErrorCode.PROJECT_NOT_FOUND));
-            model.setProject(project);
-        }
 
-        if (model.getId() == null) {
+        // Lookups already started when a later one is rejected, the project check fails or an
+        // await throws would otherwise keep running; only the routing lookup outlives this method
+        List<CompletableFuture<?>> started = new ArrayList<>(4);
+        boolean handedOff = false;
+        try {
+            // The creator comes from the token's userId claim; only older tokens without it need a lookup
+            CompletableFuture<StandardResponse<UserDTO>> createdByLookup = null;
+            if (model.getId() == null) {
+                Long currentUserId = SecurityUtils.getCurrentUserId();
+                if (currentUserId != null) {
+                    model.setCreatedById(currentUserId);
+                } else {
+                    String currentUserName = SecurityUtils.getCurrentUserName();
+                    createdByLookup = parallelLookup.submit(() -> userClient.getUserByEmail(currentUserName));
+                    started.add(createdByLookup);
+                }
+            }
 
-            UserDTO CreatedBy = userClient.getUserByEmail(SecurityUtils.getCurrentUserName()).getData();
-            if (CreatedBy == null || CreatedBy.getId() == null) {
-                throw new HltCustomerException(ErrorCode.USER_NOT_FOUND);
+            CompletableFuture<StandardResponse<UserDTO>> assignedLookup = null;
+            if (dto.getAssignedToId() != null) {
+                Long assignedToId = dto.getAssignedToId();
+                assignedLookup = parallelLookup.submit(() -> userClient.getUserById(assignedToId));
+                started.add(assignedLookup);
             }
-            model.setCreatedById(CreatedBy.getId());
-        }
 
-        if (dto.getAssignedToId() != null) {
-            UserDTO assigned = userClient.getUserById(dto.getAssignedToId()).getData();
-            if (assigned == null || assigned.getId() == null) {
-                throw new HltCustomerException(ErrorCode.USER_NOT_FOUND);
+            CompletableFuture<StandardResponse<UserGroupDTO>> groupLookup = null;
+            if (dto.getUserGroupDTO() != null && dto.getUserGroupDTO().getId() != null) {
+                Long groupId = dto.getUserGroupDTO().getId();
+                groupLookup = parallelLookup.submit(() -> userGroupClient.getById(groupId));
+                started.add(groupLookup);
             }
-            model.setAssignedToId(assigned.getId());
-        }
 
-        if (dto.getUserGroupDTO() != null && dto.getUserGroupDTO().getId() != null) {
-            var groupResp = userGroupClient.getById(dto.getUserGroupDTO().getId());
-            var groupDto = groupResp != null ? groupResp.getData() : null;
-            if (groupDto == null) {
-                throw new HltCustomerException(ErrorCode.GROUP_NOT_FOUND);
+            CompletableFuture<GroupRoutingCache.Route> routingLookup = null;
+            Long projectId = dto.getProjectId() != null ? dto.getProjectId()
+                    : model.getProject() != null ? model.getProject().getId() : null;
+            if (model.getPriority() == TicketPriority.HIGH && dto.getAssignedToId() == null
+                    && model.getAssignedToId() == null && projectId != null
+                    && !groupRoutingCache.isCached(projectId, TicketPriority.HIGH)) {
+                routingLookup = parallelLookup.submit(() -> groupRoutingCache.resolve(projectId, TicketPriority.HIGH));
+                started.add(routingLookup);
             }
-            model.setGroupId(groupDto.getId());
+
+            if (dto.getProjectId() != null) {
+                ProjectModel project = projectRepository.findById(dto.getProjectId())
+                        .orElseThrow(() -> new HltCustomerException(ErrorCode.PROJECT_NOT_FOUND));
+                model.setProject(project);
+            }
+
+            if (createdByLookup != null) {
+                StandardResponse<UserDTO> createdByResp = parallelLookup.await(createdByLookup, lookupDeadline);
+                UserDTO CreatedBy = createdByResp != null ? createdByResp.getData() : null;
+                if (CreatedBy == null || CreatedBy.getId() == null) {
+                    throw new HltCustomerException(ErrorCode.USER_NOT_FOUND);
+                }
+                model.setCreatedById(CreatedBy.getId());
+            }
+
+            if (assignedLookup != null) {
+                StandardResponse<UserDTO> assignedResp = parallelLookup.await(assignedLookup, lookupDeadline);
+                UserDTO assigned = assignedResp != null ? assignedResp.getData() : null;
+                if (assigned == null || assigned.getId() == null) {
+                    throw new HltCustomerException(ErrorCode.USER_NOT_FOUND);
+                }
+                model.setAssignedToId(assigned.getId());
+            }
+
+            if (groupLookup != null) {
+                var groupResp = parallelLookup.await(groupLookup, lookupDeadline);
+                var groupDto = groupResp != null ? groupResp.getData() : null;
+                if (groupDto == null) {
+                    throw new HltCustomerException(ErrorCode.GROUP_NOT_FOUND);
+                }
+                model.setGroupId(groupDto.getId());
+            }
+
+            handedOff = true;
+            return routingLookup;
+        } finally {
+            if (!handedOff) {
+                started.forEach(lookup -> lookup.cancel(true));
+            }
+        }
+    }
+
+    private Long resolveCurrentUserId() {
+        Long currentUserId = SecurityUtils.getCurrentUserId();
+        if (currentUserId != null) {
+            return currentUserId;
+        }
+        UserDTO currentUser = userClient.getUserByEmail(SecurityUtils.getCurrentUserName()).getData();
+        if (currentUser == null || currentUser.getId() == null) {
+            throw new HltCustomerException(ErrorCode.USER_NOT_FOUND);
         }
+        return currentUser.getId();
     }
 
-    private TicketPriority resolvePriority(Impact impact, Urgency urgency) {
+    static TicketPriority resolvePriority(Impact impact, Urgency urgency) {
         if (impact == null || urgency == null) {
             // Default to lowest priority if either is missing
             return TicketPriority.LOW;
@@ -317,8 +495,7 @@ public class TicketServiceImpl implements TicketService {
 
         Long projectId = model.getProject().getId();
 
-        Long lastNumber = ticketRepository.getLastTicketNumberByProject(projectId);
-        Long nextNumber = lastNumber + 1;
+        Long nextNumber = ticketNumberAllocator.next(projectId);
 
         String projectKey = getProjectKey(model.getProject());
         String ticketId = projectKey + "-" + nextNumber;
@@ -327,7 +504,7 @@ public class TicketServiceImpl implements TicketService {
         model.setTicketId(ticketId);
     }
 
-    private String getProjectKey(ProjectModel project) {
+    static String getProjectKey(ProjectModel project) {
         String name = project.getName();
         return name.replaceAll("[^A-Za-z]", "")
                 .substring(0, Math.min(4, name.length()))
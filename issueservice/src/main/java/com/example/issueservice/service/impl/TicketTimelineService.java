@@ -0,0 +1,276 @@
+package com.example.issueservice.service.impl;
+
+import com.example.issueservice.repository.TicketRepository;
+import com.its.common.dto.TicketTimelineEntryDTO;
+import com.its.commonservice.dto.CursorPage;
+import com.its.commonservice.exception.ErrorCode;
+import com.its.commonservice.exception.HltCustomerException;
+import com.its.commonservice.security.JwtPrincipal;
+import com.its.commonservice.util.SecurityUtils;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * Chronological feed of everything that happened on a ticket, merged from the comment,
+ * work note, field history and group history tables.
+ *
+ * Entries are ordered by (createdAt, source, id). Each source is read by keyset from its
+ * (ticket_id, created_at) index in small chunks, and the sources are k-way merged until a
+ * page is full, so a page reads about as many rows as it returns however long the
+ * ticket's history is. The cursor is the sort key of the last entry returned.
+ *
+ * Each time column is read and bound in the zone its entity mapping stores it in: Hibernate
+ * writes Instant fields to MySQL DATETIME as UTC, while TicketCommentModel.createdAt is a
+ * LocalDateTime written in the JVM's zone.
+ *
+ * Internal comments and work notes are only returned to staff roles. Whether a page included
+ * them is part of its cursor, so a cursor cannot be replayed by a caller who may not see them.
+ */
+@Service
+@Transactional(readOnly = true)
+public class TicketTimelineService {
+
+    private static final int MAX_PAGE_SIZE = 200;
+    private static final int MIN_CHUNK = 8;
+    private static final String CURSOR_VERSION = "t2";
+    private static final Set<String> INTERNAL_ROLES = Set.of(
+            "ROLE_SUPER_ADMIN", "ROLE_BUSINESS_ADMIN", "PROJECT_MANAGER", "TECH_LEAD", "DEVELOPER",
+            "QA", "DESIGNER", "BUSINESS_ANALYST", "DEVOPS");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TicketRepository ticketRepository;
+    private final List<Source> sources;
+
+    public TicketTimelineService(JdbcTemplate jdbcTemplate, TicketRepository ticketRepository) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.ticketRepository = ticketRepository;
+        // Rank doubles as the tie-breaker between sources for entries with the same timestamp
+        ZoneId local = ZoneId.systemDefault();
+        this.sources = List.of(
+                new Source(0, "ticket_comments", "created_at", local, null,
+                        "id, ticket_id, created_by, comment, created_at",
+                        (rs, i) -> entry("COMMENT", rs.getLong("id"), rs.getLong("ticket_id"), nullableLong(rs, "created_by"),
+                                instant(rs, "created_at", local)).text(rs.getString("comment")).internal(false).build()),
+                new Source(1, "comments", "created_at", ZoneOffset.UTC, "is_internal = false",
+                        "id, ticket_id, author_id, text, type, is_internal, created_at",
+                        (rs, i) -> entry(rs.getString("type"), rs.getLong("id"), rs.getLong("ticket_id"), nullableLong(rs, "author_id"),
+                                instant(rs, "created_at", ZoneOffset.UTC)).text(rs.getString("text")).internal(rs.getBoolean("is_internal")).build()),
+                new Source(2, "work_notes", "created_at", ZoneOffset.UTC, "internal_note = false",
+                        "id, ticket_id, created_by, note, internal_note, created_at",
+                        (rs, i) -> entry("WORK_NOTE", rs.getLong("id"), rs.getLong("ticket_id"), nullableLong(rs, "created_by"),
+                                instant(rs, "created_at", ZoneOffset.UTC)).text(rs.getString("note")).internal(rs.getBoolean("internal_note")).build()),
+                new Source(3, "ticket_history", "created_at", ZoneOffset.UTC, null,
+                        "id, ticket_id, changed_by, field_name, old_value, new_value, change_description, created_at",
+                        (rs, i) -> entry("FIELD_CHANGE", rs.getLong("id"), rs.getLong("ticket_id"), nullableLong(rs, "changed_by"),
+                                instant(rs, "created_at", ZoneOffset.UTC)).text(rs.getString("change_description"))
+                                .fieldName(rs.getString("field_name")).oldValue(rs.getString("old_value"))
+                                .newValue(rs.getString("new_value")).build()),
+                new Source(4, "group_history", "changed_at", ZoneOffset.UTC, null,
+                        "id, ticket_id, changed_by, from_group_id, to_group_id, note, changed_at",
+                        (rs, i) -> entry("GROUP_CHANGE", rs.getLong("id"), rs.getLong("ticket_id"), nullableLong(rs, "changed_by"),
+                                instant(rs, "changed_at", ZoneOffset.UTC)).text(rs.getString("note"))
+                                .fromGroupId(nullableLong(rs, "from_group_id")).toGroupId(nullableLong(rs, "to_group_id")).build())
+        );
+    }
+
+    public CursorPage<TicketTimelineEntryDTO> getTimeline(Long ticketId, String cursor, int size) {
+        if (!ticketRepository.existsById(ticketId)) {
+            throw new HltCustomerException(ErrorCode.TICKET_NOT_FOUND);
+        }
+        int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        boolean includeInternal = canSeeInternal();
+        Position after = decode(cursor, includeInternal);
+        int chunk = Math.max(MIN_CHUNK, pageSize / sources.size() + 1);
+
+        PriorityQueue<SourceReader> heads = new PriorityQueue<>(Comparator.comparing(SourceReader::headPosition, Position.ORDER));
+        for (Source source : sources) {
+            SourceReader reader = new SourceReader(source, ticketId, after, chunk, includeInternal);
+            if (reader.head() != null) {
+                heads.add(reader);
+            }
+        }
+
+        List<TicketTimelineEntryDTO> items = new ArrayList<>(pageSize);
+        Position last = null;
+        while (items.size() < pageSize && !heads.isEmpty()) {
+            SourceReader reader = heads.poll();
+            last = reader.headPosition();
+            items.add(reader.take());
+            if (reader.head() != null) {
+                heads.add(reader);
+            }
+        }
+
+        String nextCursor = !heads.isEmpty() && last != null ? encode(last, includeInternal) : null;
+        return new CursorPage<>(items, nextCursor);
+    }
+
+    private static boolean canSeeInternal() {
+        List<String> roles = SecurityUtils.getCurrentPrincipal().map(JwtPrincipal::getRoles).orElse(List.of());
+        return roles != null && roles.stream().anyMatch(INTERNAL_ROLES::contains);
+    }
+
+    private static TicketTimelineEntryDTO.TicketTimelineEntryDTOBuilder entry(String type, long id, long ticketId,
+                                                                            Long actorId, Instant createdAt) {
+        return TicketTimelineEntryDTO.builder()
+                .type(type)
+                .id(id)
+                .ticketId(ticketId)
+                .actorId(actorId)
+                .createdAt(createdAt);
+    }
+
+    /**
+     * Reads a DATETIME column as the wall-clock value it holds, placed in the zone it was written in.
+     */
+    private static Instant instant(ResultSet rs, String column, ZoneId zone) throws SQLException {
+        LocalDateTime value = rs.getObject(column, LocalDateTime.class);
+        return value != null ? value.atZone(zone).toInstant() : null;
+    }
+
+    private static Long nullableLong(ResultSet rs, String column) throws SQLException {
+        long value = rs.getLong(column);
+        return rs.wasNull() ? null : value;
+    }
+
+    private static String encode(Position position, boolean includeInternal) {
+        String raw = CURSOR_VERSION + ":" + (includeInternal ? 1 : 0)
+                + ":" + position.at().getEpochSecond() + ":" + position.at().getNano()
+                + ":" + position.rank() + ":" + position.id();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Returns the position to read after, or null when the cursor is blank (first page).
+     * A cursor issued with a different internal-entry visibility than the caller's is rejected.
+     */
+    private static Position decode(String cursor, boolean includeInternal) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split(":");
+            if (parts.length != 6 || !CURSOR_VERSION.equals(parts[0])
+                    || !parts[1].equals(includeInternal ? "1" : "0")) {
+                throw new IllegalArgumentException(raw);
+            }
+            Instant at = Instant.ofEpochSecond(Long.parseLong(parts[2]), Long.parseLong(parts[3]));
+            return new Position(at, Integer.parseInt(parts[4]), Long.parseLong(parts[5]));
+        } catch (IllegalArgumentException | DateTimeException e) {
+            throw new HltCustomerException(ErrorCode.INVALID_INPUT, "Invalid cursor: " + cursor);
+        }
+    }
+
+    private record Position(Instant at, int rank, long id) {
+        private static final Comparator<Position> ORDER = Comparator.comparing(Position::at)
+                .thenComparingInt(Position::rank)
+                .thenComparingLong(Position::id);
+    }
+
+    /**
+     * One table feeding the timeline. publicFilter is the condition that hides internal rows,
+     * or null when the table has none.
+     */
+    private record Source(int rank, String table, String timeColumn, ZoneId zone, String publicFilter,
+                          String columns, RowMapper<TicketTimelineEntryDTO> mapper) {
+
+        private String firstPageSql(boolean includeInternal) {
+            return "SELECT " + columns + " FROM " + table + " WHERE ticket_id = ? AND " + timeColumn + " IS NOT NULL "
+                    + visibility(includeInternal) + "ORDER BY " + timeColumn + ", id LIMIT ?";
+        }
+
+        private String afterSql(boolean includeInternal) {
+            return "SELECT " + columns + " FROM " + table + " WHERE ticket_id = ? " + visibility(includeInternal)
+                    + "AND (" + timeColumn + " > ? OR (" + timeColumn + " = ? AND id > ?)) "
+                    + "ORDER BY " + timeColumn + ", id LIMIT ?";
+        }
+
+        private String visibility(boolean includeInternal) {
+            return includeInternal || publicFilter == null ? "" : "AND " + publicFilter + " ";
+        }
+    }
+
+    /**
+     * Buffered keyset reader over one source, refilled a chunk at a time.
+     */
+    private final class SourceReader {
+        private final Source source;
+        private final Long ticketId;
+        private final int chunk;
+        private final boolean includeInternal;
+        private final Deque<TicketTimelineEntryDTO> buffer = new ArrayDeque<>();
+        private Instant lastAt;
+        private long lastId;
+        private boolean exhausted;
+
+        private SourceReader(Source source, Long ticketId, Position after, int chunk, boolean includeInternal) {
+            this.source = source;
+            this.ticketId = ticketId;
+            this.chunk = chunk;
+            this.includeInternal = includeInternal;
+            if (after == null) {
+                fill(jdbcTemplate.query(source.firstPageSql(includeInternal), source.mapper(), ticketId, chunk));
+            } else {
+                // Entries at the cursor's timestamp come after it only if they sort later by (rank, id)
+                long idFloor = source.rank() < after.rank() ? Long.MAX_VALUE
+                        : source.rank() > after.rank() ? Long.MIN_VALUE : after.id();
+                lastAt = after.at();
+                lastId = idFloor;
+                refill();
+            }
+        }
+
+        private TicketTimelineEntryDTO head() {
+            if (buffer.isEmpty() && !exhausted) {
+                refill();
+            }
+            return buffer.peekFirst();
+        }
+
+        private Position headPosition() {
+            TicketTimelineEntryDTO head = head();
+            return new Position(head.getCreatedAt(), source.rank(), head.getId());
+        }
+
+        private TicketTimelineEntryDTO take() {
+            return buffer.pollFirst();
+        }
+
+        private void refill() {
+            LocalDateTime at = LocalDateTime.ofInstant(lastAt, source.zone());
+            fill(jdbcTemplate.query(source.afterSql(includeInternal), source.mapper(), ticketId, at, at, lastId, chunk));
+        }
+
+        private void fill(List<TicketTimelineEntryDTO> rows) {
+            buffer.addAll(rows);
+            if (rows.size() < chunk) {
+                exhausted = true;
+            }
+            if (!rows.isEmpty()) {
+                TicketTimelineEntryDTO tail = rows.get(rows.size() - 1);
+                lastAt = tail.getCreatedAt();
+                lastId = tail.getId();
+            }
+        }
+    }
+}
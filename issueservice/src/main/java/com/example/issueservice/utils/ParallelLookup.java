@@ -0,0 +1,113 @@
+package com.example.issueservice.utils;
+
+import com.its.commonservice.exception.ErrorCode;
+import com.its.commonservice.exception.HltCustomerException;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Runs independent remote lookups concurrently on the bounded lookup executor.
+ *
+ * The lookups of one request share a single {@link Deadline}: each await only waits for
+ * whatever time is left, so a request never waits longer than the timeout in total.
+ * A lookup abandoned at the deadline is cancelled: if it is still queued it never runs,
+ * and if it is running its worker thread is interrupted.
+ */
+@Component
+public class ParallelLookup {
+
+    /**
+     * An absolute point in time shared by the lookups of one request.
+     */
+    public record Deadline(long nanos) {
+
+        public long remainingNanos() {
+            return Math.max(0, nanos - System.nanoTime());
+        }
+
+        public boolean isExpired() {
+            return remainingNanos() == 0;
+        }
+    }
+
+    private final TaskExecutor lookupExecutor;
+    private final long timeoutMs;
+
+    public ParallelLookup(@Qualifier("lookupExecutor") TaskExecutor lookupExecutor,
+                          @Value("${lookups.timeout-ms:3000}") long timeoutMs) {
+        this.lookupExecutor = lookupExecutor;
+        this.timeoutMs = timeoutMs;
+    }
+
+    /**
+     * A deadline the configured lookup timeout from now.
+     */
+    public Deadline deadline() {
+        return deadline(timeoutMs);
+    }
+
+    public Deadline deadline(long millis) {
+        return new Deadline(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(millis));
+    }
+
+    /**
+     * Starts a lookup. Fails with SERVICE_UNAVAILABLE straight away when the executor is
+     * saturated, rather than running the call on the request thread.
+     */
+    public <T> CompletableFuture<T> submit(Supplier<T> call) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        FutureTask<Void> task = new FutureTask<>(() -> {
+            try {
+                result.complete(call.get());
+            } catch (Throwable e) {
+                result.completeExceptionally(e);
+            }
+        }, null);
+        // CompletableFuture.cancel cannot reach the worker; the FutureTask can
+        result.whenComplete((value, error) -> {
+            if (result.isCancelled()) {
+                task.cancel(true);
+            }
+        });
+        try {
+            lookupExecutor.execute(task);
+        } catch (RejectedExecutionException e) {
+            throw new HltCustomerException(ErrorCode.SERVICE_UNAVAILABLE, "Remote lookup capacity exhausted", e);
+        }
+        return result;
+    }
+
+    /**
+     * Waits for a submitted lookup until the shared deadline, rethrowing its failure as-is.
+     * A lookup that has not finished by then is cancelled and fails with SERVICE_UNAVAILABLE.
+     */
+    public <T> T await(CompletableFuture<T> future, Deadline deadline) {
+        try {
+            return future.get(deadline.remainingNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException | CancellationException e) {
+            future.cancel(true);
+            throw new HltCustomerException(ErrorCode.SERVICE_UNAVAILABLE, "Remote lookup timed out", e);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new HltCustomerException(ErrorCode.SERVICE_UNAVAILABLE, "Remote lookup interrupted", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new HltCustomerException(ErrorCode.SERVICE_UNAVAILABLE, "Remote lookup failed", cause);
+        }
+    }
+}
@@ -1,26 +1,62 @@
 package com.example.issueservice.utils;
 
+import com.example.issueservice.config.SequencePool;
+import com.its.commonservice.exception.ErrorCode;
+import com.its.commonservice.exception.HltCustomerException;
 import org.springframework.stereotype.Component;
 
-import java.security.SecureRandom;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 
+/**
+ * Builds project codes as PRJ-ABBR-yyyyMMdd-NNNNN, where NNNNN comes from a per-(abbreviation, date)
+ * counter in PROJECT_CODE_SEQUENCES. The counter is advanced by one atomic statement on the
+ * {@link SequencePool} in autocommit mode, outside the caller's transaction, so codes are unique
+ * across instances without checking for existing ones. Older codes used a 4-digit hex suffix;
+ * the 5-digit counter suffix can never equal one of them.
+ */
 @Component
 public class ProjectCodeGenerator {
 
-    private static final SecureRandom RANDOM = new SecureRandom();
     private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd");
-    private static final int RANDOM_SUFFIX_LENGTH = 4;
     private static final String DEFAULT_PREFIX = "PRJ";
 
+    // Creates the key at 1 or increments it; the issued value is left in LAST_INSERT_ID()
+    private static final String INCREMENT_SQL =
+            "INSERT INTO project_code_sequences (code_key, last_issued) VALUES (?, LAST_INSERT_ID(1)) "
+                    + "ON DUPLICATE KEY UPDATE last_issued = LAST_INSERT_ID(last_issued + 1)";
+
+    private final SequencePool sequencePool;
+
+    public ProjectCodeGenerator(SequencePool sequencePool) {
+        this.sequencePool = sequencePool;
+    }
 
     public String generateCode(String projectName) {
         String abbreviation = extractAbbreviation(projectName);
         String datePart = LocalDate.now().format(DATE_FORMAT);
-        String randomPart = randomHex(RANDOM_SUFFIX_LENGTH);
+        long sequence = nextSequence(abbreviation + "-" + datePart);
 
-        return String.format("%s-%s-%s-%s", DEFAULT_PREFIX, abbreviation, datePart, randomPart);
+        return String.format("%s-%s-%s-%05d", DEFAULT_PREFIX, abbreviation, datePart, sequence);
+    }
+
+    private long nextSequence(String codeKey) {
+        Long issued = sequencePool.execute(connection -> {
+            try (PreparedStatement increment = connection.prepareStatement(INCREMENT_SQL)) {
+                increment.setString(1, codeKey);
+                increment.executeUpdate();
+            }
+            try (PreparedStatement select = connection.prepareStatement("SELECT LAST_INSERT_ID()");
+                 ResultSet rs = select.executeQuery()) {
+                return rs.next() ? rs.getLong(1) : null;
+            }
+        });
+        if (issued == null || issued < 1) {
+            throw new HltCustomerException(ErrorCode.DATABASE_ERROR, "Unable to issue a project code for " + codeKey);
+        }
+        return issued;
     }
 
     private String extractAbbreviation(String name) {
@@ -36,15 +72,4 @@ public class ProjectCodeGenerator {
         }
         return sb.toString();
     }
-
-    /**
-     * Generates a random hexadecimal string (A–F, 0–9) of given length.
-     */
-    private String randomHex(int length) {
-        StringBuilder sb = new StringBuilder(length);
-        for (int i = 0; i < length; i++) {
-            sb.append(Integer.toHexString(RANDOM.nextInt(16)).toUpperCase());
-        }
-        return sb.toString();
-    }
 }
@@ -0,0 +1,198 @@
+package com.example.issueservice.utils;
+
+import com.example.issueservice.client.UserAssignmentClient;
+import com.its.common.dto.UserAssignmentDTO;
+import com.its.commonservice.dto.StandardResponse;
+import feign.FeignException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resolves the assignments of project members through the bulk assignments endpoint.
+ * If that endpoint is unavailable it falls back to per-user calls, run in parallel
+ * with a concurrency cap. Every call, bulk or per-user, runs on the lookup executor and
+ * is bounded by one deadline for the whole resolution; when the executor is saturated the
+ * remaining users are left out. Users not resolved either way are reported through
+ * {@link Resolution#isPartial()} rather than silently dropped.
+ */
+@Slf4j
+@Component
+public class ProjectMemberResolver {
+
+    private static final int PER_USER_PAGE_SIZE = 50;
+
+    private final UserAssignmentClient userAssignmentClient;
+    private final ParallelLookup parallelLookup;
+    private final int bulkChunkSize;
+    private final int maxConcurrent;
+    private final long deadlineMs;
+    private final long bulkRetryNanos;
+
+    // After the user service answers 404 for the bulk endpoint it is not tried again until then
+    private volatile long bulkSuspendedUntil = System.nanoTime();
+
+    public ProjectMemberResolver(UserAssignmentClient userAssignmentClient,
+                                 ParallelLookup parallelLookup,
+                                 @Value("${projects.members.bulk-chunk-size:200}") int bulkChunkSize,
+                                 @Value("${projects.members.max-concurrent:8}") int maxConcurrent,
+                                 @Value("${projects.members.deadline-ms:2000}") long deadlineMs,
+                                 @Value("${projects.members.bulk-retry-ms:300000}") long bulkRetryMs) {
+        this.userAssignmentClient = userAssignmentClient;
+        this.parallelLookup = parallelLookup;
+        this.bulkChunkSize = bulkChunkSize;
+        this.maxConcurrent = maxConcurrent;
+        this.deadlineMs = deadlineMs;
+        this.bulkRetryNanos = TimeUnit.MILLISECONDS.toNanos(bulkRetryMs);
+    }
+
+    public Resolution resolve(Collection<Long> userIds) {
+        Resolution resolution = new Resolution();
+        List<Long> ids = new ArrayList<>(new LinkedHashSet<>(userIds));
+        ids.removeIf(id -> id == null);
+        if (ids.isEmpty()) {
+            return resolution;
+        }
+
+        ParallelLookup.Deadline deadline = parallelLookup.deadline(deadlineMs);
+        List<Long> remaining = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += bulkChunkSize) {
+            List<Long> chunk = ids.subList(from, Math.min(from + bulkChunkSize, ids.size()));
+            if (!bulkAvailable() || !resolveBulk(chunk, resolution, deadline)) {
+                remaining.addAll(chunk);
+            }
+        }
+        if (!remaining.isEmpty()) {
+            resolveEach(remaining, resolution, deadline);
+        }
+        if (resolution.partial) {
+            log.warn("Resolved assignments for {} of {} user(s) within {} ms",
+                    resolution.byUser.size(), ids.size(), deadlineMs);
+        }
+        return resolution;
+    }
+
+    private boolean bulkAvailable() {
+        return System.nanoTime() - bulkSuspendedUntil >= 0;
+    }
+
+    private boolean resolveBulk(List<Long> chunk, Resolution resolution, ParallelLookup.Deadline deadline) {
+        List<Long> request = List.copyOf(chunk);
+        try {
+            StandardResponse<UserAssignmentDTO> response = parallelLookup.await(
+                    parallelLookup.submit(() -> userAssignmentClient.getAssignmentsByUsers(request)), deadline);
+            List<UserAssignmentDTO> items = response != null && response.getItems() != null ? response.getItems() : List.of();
+            for (Long userId : chunk) {
+                resolution.byUser.put(userId, new ArrayList<>());
+            }
+            for (UserAssignmentDTO assignment : items) {
+                if (assignment.getUserIds() == null) {
+                    continue;
+                }
+                for (Long userId : assignment.getUserIds()) {
+                    List<UserAssignmentDTO> list = resolution.byUser.get(userId);
+                    if (list != null) {
+                        list.add(assignment);
+                    }
+                }
+            }
+            return true;
+        } catch (FeignException e) {
+            if (e.status() == 404) {
+                bulkSuspendedUntil = System.nanoTime() + bulkRetryNanos;
+                log.info("Bulk assignments endpoint not available, using per-user lookups for the next {} ms",
+                        TimeUnit.NANOSECONDS.toMillis(bulkRetryNanos));
+            } else {
+                log.warn("Bulk assignment lookup failed for {} user(s), falling back to per-user lookups", chunk.size(), e);
+            }
+            return false;
+        } catch (RuntimeException e) {
+            log.warn("Bulk assignment lookup failed for {} user(s), falling back to per-user lookups", chunk.size(), e);
+            return false;
+        }
+    }
+
+    private void resolveEach(List<Long> userIds, Resolution resolution, ParallelLookup.Deadline deadline) {
+        Semaphore slots = new Semaphore(maxConcurrent);
+        Map<Long, CompletableFuture<StandardResponse<UserAssignmentDTO>>> calls = new HashMap<>();
+
+        try {
+            for (Long userId : userIds) {
+                if (!slots.tryAcquire(deadline.remainingNanos(), TimeUnit.NANOSECONDS)) {
+                    break;
+                }
+                CompletableFuture<StandardResponse<UserAssignmentDTO>> call;
+                try {
+                    call = parallelLookup.submit(() -> userAssignmentClient.getAssignmentsByUser(
+                            userId, 0, PER_USER_PAGE_SIZE, "id", "ASC"));
+                } catch (RuntimeException e) {
+                    // The shared executor is saturated; the rest stay unresolved
+                    slots.release();
+                    log.debug("Assignment lookups rejected after {} of {} user(s)", calls.size(), userIds.size(), e);
+                    break;
+                }
+                call.whenComplete((result, error) -> slots.release());
+                calls.put(userId, call);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        for (Long userId : userIds) {
+            CompletableFuture<StandardResponse<UserAssignmentDTO>> call = calls.get(userId);
+            if (call == null) {
+                resolution.partial = true;
+                continue;
+            }
+            try {
+                StandardResponse<UserAssignmentDTO> response = parallelLookup.await(call, deadline);
+                resolution.byUser.put(userId, response != null && response.getItems() != null
+                        ? new ArrayList<>(response.getItems()) : new ArrayList<>());
+            } catch (RuntimeException e) {
+                log.debug("Assignment lookup failed for user {}", userId, e);
+                resolution.partial = true;
+            }
+        }
+    }
+
+    public static final class Resolution {
+        private final Map<Long, List<UserAssignmentDTO>> byUser = new HashMap<>();
+        private boolean partial;
+
+        /**
+         * Assignments of the given users, each assignment once, in user order.
+         * Users that were not resolved contribute nothing.
+         */
+        public List<UserAssignmentDTO> assignmentsOf(Collection<Long> userIds) {
+            Map<Object, UserAssignmentDTO> unique = new LinkedHashMap<>();
+            for (Long userId : userIds) {
+                for (UserAssignmentDTO assignment : byUser.getOrDefault(userId, List.of())) {
+                    unique.putIfAbsent(assignment.getId() != null ? assignment.getId() : assignment, assignment);
+                }
+            }
+            return new ArrayList<>(unique.values());
+        }
+
+        /**
+         * True if any of the given users could not be resolved.
+         */
+        public boolean isPartial(Collection<Long> userIds) {
+            return partial && !byUser.keySet().containsAll(userIds);
+        }
+
+        public boolean isPartial() {
+            return partial;
+        }
+    }
+}
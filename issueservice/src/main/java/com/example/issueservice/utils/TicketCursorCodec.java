@@ -0,0 +1,45 @@
+package com.example.issueservice.utils;
+
+import com.its.commonservice.exception.ErrorCode;
+import com.its.commonservice.exception.HltCustomerException;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Encodes the keyset position of the last ticket on a page into an opaque cursor.
+ * Tickets are ordered by id descending: ids are assigned in creation order and every
+ * idx_ticket_* secondary index carries the primary key, so "id < ?" is a range seek
+ * on whichever filter index the query uses.
+ */
+@Component
+public class TicketCursorCodec {
+
+    private static final String VERSION = "v1";
+
+    public String encode(Long lastId) {
+        String raw = VERSION + ":" + lastId;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Returns the id to seek after, or null when the cursor is blank (first page).
+     */
+    public Long decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split(":");
+            if (parts.length != 2 || !VERSION.equals(parts[0])) {
+                throw new IllegalArgumentException(raw);
+            }
+            return Long.parseLong(parts[1]);
+        } catch (IllegalArgumentException e) {
+            throw new HltCustomerException(ErrorCode.INVALID_INPUT, "Invalid cursor: " + cursor);
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.example.issueservice.utils;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.its.commonservice.exception.ErrorCode;
+import com.its.commonservice.exception.HltCustomerException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads import rows one at a time from a CSV (header line first) or NDJSON stream,
+ * so the request body is never held in memory as a whole.
+ */
+public class TicketImportReader {
+
+    public enum Format { CSV, NDJSON }
+
+    private final BufferedReader reader;
+    private final Format format;
+    private final ObjectMapper objectMapper;
+    private List<String> header;
+    private long row;
+
+    public TicketImportReader(InputStream in, Format format, ObjectMapper objectMapper) {
+        this.reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        this.format = format;
+        this.objectMapper = objectMapper;
+    }
+
+    public static Format formatOf(String contentType) {
+        if (contentType != null) {
+            String type = contentType.toLowerCase();
+            if (type.startsWith("text/csv")) return Format.CSV;
+            if (type.startsWith("application/x-ndjson") || type.startsWith("application/ndjson")) return Format.NDJSON;
+        }
+        throw new HltCustomerException(ErrorCode.INVALID_FILE_TYPE, "Import must be text/csv or application/x-ndjson");
+    }
+
+    /**
+     * 1-based data row number of the row most recently returned by next().
+     */
+    public long row() {
+        return row;
+    }
+
+    /**
+     * Returns the next row keyed by column name, or null at end of input.
+     * Throws IllegalArgumentException for a row that cannot be parsed; reading may continue afterwards.
+     */
+    public Map<String, String> next() throws IOException {
+        return format == Format.CSV ? nextCsv() : nextJson();
+    }
+
+    private Map<String, String> nextJson() throws IOException {
+        String line;
+        do {
+            line = reader.readLine();
+            if (line == null) return null;
+        } while (line.isBlank());
+        row++;
+
+        JsonNode node;
+        try {
+            node = objectMapper.readTree(line);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Malformed JSON");
+        }
+        if (node == null || !node.isObject()) {
+            throw new IllegalArgumentException("Row is not a JSON object");
+        }
+        Map<String, String> values = new HashMap<>();
+        Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            if (!field.getValue().isNull()) {
+                values.put(field.getKey(), field.getValue().asText());
+            }
+        }
+        return values;
+    }
+
+    private Map<String, String> nextCsv() throws IOException {
+        if (header == null) {
+            List<String> names = readCsvRecord();
+            if (names == null) return null;
+            header = names.stream().map(String::trim).toList();
+        }
+        List<String> fields;
+        do {
+            fields = readCsvRecord();
+            if (fields == null) return null;
+        } while (fields.size() == 1 && fields.get(0).isBlank());
+        row++;
+
+        if (fields.size() > header.size()) {
+            throw new IllegalArgumentException("Expected " + header.size() + " columns but found " + fields.size());
+        }
+        Map<String, String> values = new HashMap<>();
+        for (int i = 0; i < fields.size(); i++) {
+            if (!fields.get(i).isEmpty()) {
+                values.put(header.get(i), fields.get(i));
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Parses one RFC 4180 record; quoted fields may contain commas, doubled quotes and line breaks.
+     */
+    private List<String> readCsvRecord() throws IOException {
+        String line = reader.readLine();
+        if (line == null) return null;
+
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        while (true) {
+            for (int i = 0; i < line.length(); i++) {
+                char c = line.charAt(i);
+                if (quoted) {
+                    if (c == '"') {
+                        if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                            field.append('"');
+                            i++;
+                        } else {
+                            quoted = false;
+                        }
+                    } else {
+                        field.append(c);
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else {
+                    field.append(c);
+                }
+            }
+            if (!quoted) break;
+            line = reader.readLine();
+            if (line == null) {
+                throw new IllegalArgumentException("Unterminated quoted field");
+            }
+            field.append('\n');
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
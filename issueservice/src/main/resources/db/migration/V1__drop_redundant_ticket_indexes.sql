@@ -0,0 +1,18 @@
+-- idx_ticket_project and idx_ticket_status are left-prefixes of
+-- idx_ticket_project_status_priority and idx_ticket_status_priority.
+-- Hibernate's ddl-auto=update never drops indexes, so remove them here.
+-- MySQL has no DROP INDEX IF EXISTS; fresh databases never had them.
+
+SET @ddl = (SELECT IF(COUNT(*) > 0, 'ALTER TABLE tickets DROP INDEX idx_ticket_project', 'DO 0')
+            FROM information_schema.statistics
+            WHERE table_schema = DATABASE() AND table_name = 'tickets' AND index_name = 'idx_ticket_project');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+SET @ddl = (SELECT IF(COUNT(*) > 0, 'ALTER TABLE tickets DROP INDEX idx_ticket_status', 'DO 0')
+            FROM information_schema.statistics
+            WHERE table_schema = DATABASE() AND table_name = 'tickets' AND index_name = 'idx_ticket_status');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
@@ -0,0 +1,4 @@
+-- ticket_comment_ids duplicated TICKET_COMMENTS.TICKET_ID; comment ids are read from
+-- ticket_comments now. Hibernate's ddl-auto=update never drops unmapped tables.
+
+DROP TABLE IF EXISTS ticket_comment_ids;
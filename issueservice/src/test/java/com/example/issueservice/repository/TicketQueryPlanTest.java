@@ -0,0 +1,168 @@
+package com.example.issueservice.repository;
+
+import com.example.issueservice.model.TicketModel;
+import com.its.commonservice.enums.TicketPriority;
+import com.its.commonservice.enums.TicketStatus;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs EXPLAIN on the SQL Hibernate generates for each supported filter combination and
+ * checks that MySQL reads it through the intended index rather than scanning tickets.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.hibernate.ddl-auto=create",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.example.issueservice.repository.TicketQueryPlanTest$LastStatement"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class TicketQueryPlanTest {
+
+    @Container
+    @ServiceConnection
+    static MySQLContainer<?> mysql = new MySQLContainer<>("mysql:8.0");
+
+    // Keeps the slice away from IssueServiceApplication and its Feign clients
+    @Configuration
+    @EntityScan(basePackageClasses = TicketModel.class)
+    @EnableJpaRepositories(basePackageClasses = TicketRepository.class)
+    static class Config {
+    }
+
+    public static class LastStatement implements StatementInspector {
+
+        static volatile String sql;
+
+        @Override
+        public String inspect(String statement) {
+            sql = statement;
+            return statement;
+        }
+    }
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2026, 1, 1, 0, 0);
+
+    @Autowired
+    private TicketRepository ticketRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * 4000 tickets over 200 projects, 300 assignees and 100 groups. Most are CLOSED and
+     * LOW/MEDIUM/HIGH, so the OPEN and CRITICAL filters below are selective.
+     */
+    @BeforeAll
+    void seed() {
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("SET FOREIGN_KEY_CHECKS = 0");
+                statement.execute("SET SESSION cte_max_recursion_depth = 5000");
+                statement.execute("""
+                        INSERT INTO tickets (created_at, title, priority, status, project_id, assigned_to, group_id,
+                                             due_date, sla_breached, is_archived, urgency, issue_type, impact)
+                        WITH RECURSIVE seq (n) AS (SELECT 1 UNION ALL SELECT n + 1 FROM seq WHERE n < 4000)
+                        SELECT NOW(), CONCAT('Ticket ', n),
+                               IF(n % 20 = 0, 'CRITICAL', ELT(1 + n % 3, 'LOW', 'MEDIUM', 'HIGH')),
+                               IF(n % 10 = 0, ELT(1 + n % 4, 'OPEN', 'NEW', 'IN_PROGRESS', 'ON_HOLD'), 'CLOSED'),
+                               1 + n % 200, 1 + n % 300, 1 + n % 100,
+                               TIMESTAMP('2026-01-01') + INTERVAL n MINUTE, FALSE, FALSE, 'LOW', 'BUG', 'LOW'
+                        FROM seq
+                        """);
+                statement.execute("SET FOREIGN_KEY_CHECKS = 1");
+                statement.execute("ANALYZE TABLE tickets");
+            }
+            return null;
+        });
+    }
+
+    @Test
+    void projectFilters() {
+        assertUsesIndex(TicketSpecifications.projectIs(7L),
+                List.of(7L), "idx_ticket_project_status_priority", "idx_ticket_project_priority");
+        assertUsesIndex(TicketSpecifications.projectIs(7L).and(TicketSpecifications.statusIs(TicketStatus.OPEN)),
+                List.of(7L, "OPEN"), "idx_ticket_project_status_priority");
+        assertUsesIndex(TicketSpecifications.projectIs(7L)
+                        .and(TicketSpecifications.statusIs(TicketStatus.OPEN))
+                        .and(TicketSpecifications.priorityIs(TicketPriority.CRITICAL)),
+                List.of(7L, "OPEN", "CRITICAL"), "idx_ticket_project_status_priority");
+        assertUsesIndex(TicketSpecifications.projectIs(7L).and(TicketSpecifications.priorityIs(TicketPriority.CRITICAL)),
+                List.of(7L, "CRITICAL"), "idx_ticket_project_priority", "idx_ticket_project_status_priority");
+    }
+
+    @Test
+    void statusAndPriorityFilters() {
+        assertUsesIndex(TicketSpecifications.statusIs(TicketStatus.OPEN),
+                List.of("OPEN"), "idx_ticket_status_priority");
+        assertUsesIndex(TicketSpecifications.statusIs(TicketStatus.OPEN)
+                        .and(TicketSpecifications.priorityIs(TicketPriority.CRITICAL)),
+                List.of("OPEN", "CRITICAL"), "idx_ticket_status_priority");
+        assertUsesIndex(TicketSpecifications.priorityIs(TicketPriority.CRITICAL),
+                List.of("CRITICAL"), "idx_ticket_priority");
+    }
+
+    @Test
+    void assigneeAndGroupFilters() {
+        assertUsesIndex(TicketSpecifications.assignedTo(11L),
+                List.of(11L), "idx_ticket_assignee_status");
+        assertUsesIndex(TicketSpecifications.assignedTo(11L).and(TicketSpecifications.statusIs(TicketStatus.OPEN)),
+                List.of(11L, "OPEN"), "idx_ticket_assignee_status");
+        assertUsesIndex(TicketSpecifications.groupIs(3L),
+                List.of(3L), "idx_ticket_group_status");
+        assertUsesIndex(TicketSpecifications.groupIs(3L).and(TicketSpecifications.statusIs(TicketStatus.OPEN)),
+                List.of(3L, "OPEN"), "idx_ticket_group_status");
+    }
+
+    @Test
+    void dueDateRange() {
+        LocalDateTime from = BASE.plusMinutes(100);
+        LocalDateTime to = BASE.plusMinutes(120);
+        assertUsesIndex(TicketSpecifications.dueOnOrAfter(from).and(TicketSpecifications.dueOnOrBefore(to)),
+                List.of(from, to), "idx_ticket_due_date");
+    }
+
+    /**
+     * Generates the spec's SQL through Hibernate, then EXPLAINs it with the given bind values
+     * (in predicate order) and checks the chosen index.
+     */
+    private void assertUsesIndex(Specification<TicketModel> spec, List<Object> binds, String... expected) {
+        LastStatement.sql = null;
+        ticketRepository.findAll(spec);
+        String sql = LastStatement.sql;
+        assertNotNull(sql, "no statement captured");
+
+        List<Map<String, Object>> plan = jdbcTemplate.queryForList("EXPLAIN " + sql, binds.toArray());
+        Map<String, Object> row = plan.get(0);
+        String key = (String) row.get("key");
+        assertNotEquals("ALL", row.get("type"), "table scan for: " + sql + " -> " + plan);
+        assertTrue(key != null && Set.of(expected).contains(key),
+                "expected one of " + List.of(expected) + " but used " + key + " for: " + sql);
+    }
+}
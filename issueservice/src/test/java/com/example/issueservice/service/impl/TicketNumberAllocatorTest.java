@@ -0,0 +1,130 @@
+package com.example.issueservice.service.impl;
+
+import com.example.issueservice.config.SequencePool;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.jdbc.JdbcConnectionDetails;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Two allocators stand in for two service instances sharing one database.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class TicketNumberAllocatorTest {
+
+    private static final int THREADS_PER_INSTANCE = 8;
+    private static final int NUMBERS_PER_THREAD = 250;
+    private static final int BLOCK_SIZE = 10;
+
+    @Container
+    static MySQLContainer<?> mysql = new MySQLContainer<>("mysql:8.0");
+
+    private final List<SequencePool> pools = new ArrayList<>();
+
+    @BeforeEach
+    void createTables() throws SQLException {
+        try (Connection connection = DriverManager.getConnection(mysql.getJdbcUrl(), mysql.getUsername(), mysql.getPassword());
+             Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS ticket_sequences");
+            statement.execute("DROP TABLE IF EXISTS tickets");
+            statement.execute("CREATE TABLE ticket_sequences (project_id BIGINT PRIMARY KEY, last_reserved BIGINT NOT NULL)");
+            statement.execute("CREATE TABLE tickets (id BIGINT AUTO_INCREMENT PRIMARY KEY, project_id BIGINT NOT NULL, ticket_number BIGINT)");
+        }
+    }
+
+    @AfterEach
+    void closePools() {
+        pools.forEach(SequencePool::destroy);
+    }
+
+    @Test
+    void concurrentInstancesNeverShareANumber() throws Exception {
+        TicketNumberAllocator first = allocator();
+        TicketNumberAllocator second = allocator();
+
+        Set<Long> issued = ConcurrentHashMap.newKeySet();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS_PER_INSTANCE * 2);
+        try {
+            List<Future<Integer>> duplicates = new ArrayList<>();
+            for (int i = 0; i < THREADS_PER_INSTANCE * 2; i++) {
+                TicketNumberAllocator allocator = i % 2 == 0 ? first : second;
+                duplicates.add(executor.submit(() -> {
+                    start.await();
+                    int clashes = 0;
+                    for (int n = 0; n < NUMBERS_PER_THREAD; n++) {
+                        if (!issued.add(allocator.next(1L))) {
+                            clashes++;
+                        }
+                    }
+                    return clashes;
+                }));
+            }
+            start.countDown();
+            for (Future<Integer> result : duplicates) {
+                assertEquals(0, result.get(60, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        int total = THREADS_PER_INSTANCE * 2 * NUMBERS_PER_THREAD;
+        assertEquals(total, issued.size());
+        assertTrue(issued.stream().allMatch(n -> n >= 1));
+    }
+
+    @Test
+    void firstBlockContinuesFromExistingTickets() throws SQLException {
+        try (Connection connection = DriverManager.getConnection(mysql.getJdbcUrl(), mysql.getUsername(), mysql.getPassword());
+             Statement statement = connection.createStatement()) {
+            statement.execute("INSERT INTO tickets (project_id, ticket_number) VALUES (2, 40), (2, 41), (3, 7)");
+        }
+
+        TicketNumberAllocator allocator = allocator();
+        assertEquals(42, allocator.next(2L));
+        assertEquals(43, allocator.next(2L));
+        assertEquals(8, allocator.next(3L));
+        assertEquals(1, allocator.next(4L));
+    }
+
+    private TicketNumberAllocator allocator() {
+        SequencePool pool = new SequencePool(new JdbcConnectionDetails() {
+            @Override
+            public String getUsername() {
+                return mysql.getUsername();
+            }
+
+            @Override
+            public String getPassword() {
+                return mysql.getPassword();
+            }
+
+            @Override
+            public String getJdbcUrl() {
+                return mysql.getJdbcUrl();
+            }
+        }, 2);
+        pools.add(pool);
+        return new TicketNumberAllocator(pool, BLOCK_SIZE);
+    }
+}
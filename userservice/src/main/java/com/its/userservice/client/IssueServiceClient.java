@@ -6,6 +6,7 @@ import com.its.commonservice.dto.StandardResponse;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
 
 @FeignClient(
         name = "issue-service",
@@ -17,4 +18,7 @@ public interface IssueServiceClient {
 
     @GetMapping("/{projectId}")
     StandardResponse<ProjectDTO> getProjectById(@PathVariable("projectId") Long projectId);
+
+    @PostMapping("/{projectId}/routing/evict")
+    StandardResponse<Void> evictGroupRouting(@PathVariable("projectId") Long projectId);
 }
@@ -13,6 +13,8 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("/api/usergroups")
 @RequiredArgsConstructor
@@ -56,6 +58,12 @@ public class UserGroupController {
         return StandardResponse.single(groups,"User group not found for project");
     }
     
+    @GetMapping("/batch")
+    public StandardResponse<UserGroupDTO> getByIds(@RequestParam("ids") List<Long> ids) {
+        List<UserGroupDTO> groups = userGroupService.getByIds(ids);
+        return StandardResponse.list(groups, "User groups fetched successfully");
+    }
+
     @GetMapping("/{id}")
     public StandardResponse<UserGroupDTO> getById(@PathVariable("id") Long id) {
         UserGroupDTO group = userGroupService.getById(id);
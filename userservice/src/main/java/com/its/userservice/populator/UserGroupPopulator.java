@@ -11,6 +11,11 @@ import com.its.userservice.model.UserGroupModel;
 import com.its.userservice.client.IssueServiceClient;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 @Component
 public class UserGroupPopulator implements Populator<UserGroupModel, UserGroupDTO> {
 
@@ -24,6 +29,24 @@ public class UserGroupPopulator implements Populator<UserGroupModel, UserGroupDT
 
     @Override
     public void populate(UserGroupModel source, UserGroupDTO target) {
+        populate(source, target, null);
+    }
+
+    /**
+     * Converts a batch of groups, fetching each distinct project only once.
+     */
+    public List<UserGroupDTO> toDTOs(List<UserGroupModel> sources) {
+        Map<Long, ProjectDTO> projects = new HashMap<>();
+        List<UserGroupDTO> result = new ArrayList<>(sources.size());
+        for (UserGroupModel source : sources) {
+            UserGroupDTO dto = new UserGroupDTO();
+            populate(source, dto, projects);
+            result.add(dto);
+        }
+        return result;
+    }
+
+    private void populate(UserGroupModel source, UserGroupDTO target, Map<Long, ProjectDTO> projectCache) {
         if (source == null || target == null) {
             return;
         }
@@ -35,7 +58,9 @@ public class UserGroupPopulator implements Populator<UserGroupModel, UserGroupDT
 
         // Fetch Project details from issue-service via Feign if projectId is present
         if (source.getProjectId() != null) {
-            ProjectDTO projectDTO = fetchProject(source.getProjectId());
+            ProjectDTO projectDTO = projectCache != null
+                    ? projectCache.computeIfAbsent(source.getProjectId(), this::fetchProject)
+                    : fetchProject(source.getProjectId());
             target.setProject(projectDTO);
         }
 
@@ -12,6 +12,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -27,6 +28,9 @@ public interface UserGroupRepository extends JpaRepository<UserGroupModel, Long>
 
     Optional<UserGroupModel>  getGroupsByProjectIdAndPriority(Long projectId, TicketPriority priority);
 
+    @Query("SELECT u.id FROM UserGroupModel g JOIN g.members u WHERE g.id = :groupId")
+    List<Long> findMemberIds(@Param("groupId") Long groupId);
+
     @Query("SELECT u FROM UserGroupModel g JOIN g.members u WHERE g.id = :groupId")
     Page<UserModel> findGroupMembers(@Param("groupId") Long groupId, Pageable pageable);
 }
@@ -7,6 +7,8 @@ import com.its.userservice.model.UserGroupModel;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.util.List;
+
 public interface UserGroupService {
 
     UserGroupDTO create(UserGroupDTO dto);
@@ -19,6 +21,8 @@ public interface UserGroupService {
 
     UserGroupDTO getById(Long id);
 
+    List<UserGroupDTO> getByIds(List<Long> ids);
+
     Page<UserGroupDTO> getGroupsByProjectId(Long projectId, Pageable pageable);
 
     UserGroupDTO getGroupsByProjectAndPriority(Long projectId, TicketPriority priority);
@@ -5,6 +5,8 @@ import com.its.common.dto.UserGroupDTO;
 import com.its.commonservice.enums.TicketPriority;
 import com.its.commonservice.exception.ErrorCode;
 import com.its.commonservice.exception.HltCustomerException;
+import com.its.commonservice.util.TransactionUtils;
+import com.its.userservice.client.IssueServiceClient;
 import com.its.userservice.model.UserGroupModel;
 import com.its.userservice.model.UserModel;
 import com.its.userservice.populator.UserGroupPopulator;
@@ -13,6 +15,7 @@ import com.its.userservice.repository.UserGroupRepository;
 import com.its.userservice.repository.UserRepository;
 import com.its.userservice.service.UserGroupService;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -20,9 +23,14 @@ import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class UserGroupServiceImpl implements UserGroupService {
@@ -31,6 +39,7 @@ public class UserGroupServiceImpl implements UserGroupService {
     private final UserGroupPopulator userGroupPopulator;
     private final UserRepository userRepository;
     private final UserPopulator userPopulator;
+    private final IssueServiceClient issueServiceClient;
 
 
     @Override
@@ -53,6 +62,7 @@ public class UserGroupServiceImpl implements UserGroupService {
                 .build();
 
         userGroupRepository.save(model);
+        evictRoutingAfterCommit(model.getProjectId());
         return userGroupPopulator.toDTO(model);
     }
 
@@ -61,6 +71,7 @@ public class UserGroupServiceImpl implements UserGroupService {
     @Transactional
     public UserGroupDTO update(Long id, UserGroupDTO dto) {
         UserGroupModel model = findGroupById(id);
+        Long previousProjectId = model.getProjectId();
 
         if (dto.getGroupName() != null && !dto.getGroupName().isBlank()) {
             model.setGroupName(dto.getGroupName());
@@ -84,12 +95,16 @@ public class UserGroupServiceImpl implements UserGroupService {
         }
 
         userGroupRepository.save(model);
+        evictRoutingAfterCommit(previousProjectId, model.getProjectId());
         return userGroupPopulator.toDTO(model);
     }
 
     @Override
+    @Transactional
     public void delete(Long id) {
-
+        UserGroupModel model = findGroupById(id);
+        userGroupRepository.delete(model);
+        evictRoutingAfterCommit(model.getProjectId());
     }
 
 
@@ -106,6 +121,16 @@ public class UserGroupServiceImpl implements UserGroupService {
         return userGroupPopulator.toDTO(findGroupById(id));
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<UserGroupDTO> getByIds(List<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return List.of();
+        }
+        List<Long> distinctIds = ids.stream().filter(Objects::nonNull).distinct().toList();
+        return userGroupPopulator.toDTOs(userGroupRepository.findAllById(distinctIds));
+    }
+
     @Transactional(readOnly = true)
     @Override
     public Page<UserGroupDTO> getGroupsByProjectId(Long projectId, Pageable pageable) {
@@ -114,12 +139,15 @@ public class UserGroupServiceImpl implements UserGroupService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public UserGroupDTO getGroupsByProjectAndPriority(Long projectId, TicketPriority priority) {
         UserGroupDTO userGroup=userGroupPopulator.toDTO(userGroupRepository.getGroupsByProjectIdAndPriority(projectId, priority).orElseThrow(() -> new HltCustomerException(ErrorCode.GROUP_NOT_FOUND)));
+        userGroup.setMemberIds(userGroupRepository.findMemberIds(userGroup.getId()));
         return userGroup;
     }
 
     @Override
+    @Transactional
     public  void addUserToGroup(Long groupId, Long userId) {
         UserGroupModel group = userGroupRepository.findById(groupId)
                 .orElseThrow(() -> new IllegalArgumentException("Group not found"));
@@ -128,9 +156,11 @@ public class UserGroupServiceImpl implements UserGroupService {
 
         group.getMembers().add(user);
         userGroupRepository.save(group);
+        evictRoutingAfterCommit(group.getProjectId());
     }
 
     @Override
+    @Transactional
     public void removeUserFromGroup(Long groupId, Long userId) {
         UserGroupModel group = userGroupRepository.findById(groupId)
                 .orElseThrow(() -> new IllegalArgumentException("Group not found"));
@@ -139,6 +169,7 @@ public class UserGroupServiceImpl implements UserGroupService {
 
         group.getMembers().remove(user);
          userGroupRepository.save(group);
+        evictRoutingAfterCommit(group.getProjectId());
     }
 
     @Override
@@ -155,6 +186,28 @@ public class UserGroupServiceImpl implements UserGroupService {
     }
 
 
+    /**
+     * Tells issueservice to drop its cached ticket routing (group, lead and members) for these
+     * projects once the change is committed. Failures are only logged; issueservice entries
+     * also expire on their own.
+     */
+    private void evictRoutingAfterCommit(Long... projectIds) {
+        Set<Long> distinct = new LinkedHashSet<>();
+        for (Long projectId : projectIds) {
+            if (projectId != null) {
+                distinct.add(projectId);
+            }
+        }
+        Runnable evict = () -> distinct.forEach(projectId -> {
+            try {
+                issueServiceClient.evictGroupRouting(projectId);
+            } catch (RuntimeException e) {
+                log.warn("Could not evict issueservice group routing for project {}", projectId, e);
+            }
+        });
+        TransactionUtils.afterCommit(evict);
+    }
+
     private UserGroupModel findGroupById(Long id) {
         return userGroupRepository.findById(id)
                 .orElseThrow(() -> new HltCustomerException(ErrorCode.GROUP_NOT_FOUND));